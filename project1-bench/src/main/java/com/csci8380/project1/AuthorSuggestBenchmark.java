@@ -0,0 +1,71 @@
+package com.csci8380.project1;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures author suggestions for prefixes of the names in the dataset, at each prefix
+ * length. Prefixes of up to three characters are ranked when the dataset is loaded, and
+ * longer ones on each request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorSuggestBenchmark {
+
+    private static final int NUM_PREFIXES = 1024;
+    private static final long SEED = 8380;
+    private static final int LIMIT = 10;
+
+    @Param({"1", "3", "4", "8"})
+    public int prefixLength;
+
+    private Dataset dataset;
+    private String[] prefixes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void load() throws IOException {
+        KnowledgeGraph.load(BenchmarkData.path());
+        dataset = KnowledgeGraph.acquireDataset();
+        String[][] pairs = BenchmarkData.randomPairs(dataset, NUM_PREFIXES, SEED);
+        prefixes = new String[pairs.length];
+        for (int i = 0; i < pairs.length; ++i) {
+            String name = pairs[i][0];
+            prefixes[i] = name.substring(0, Math.min(prefixLength, name.length()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void release() {
+        dataset.release();
+    }
+
+    /**
+     * The next of the prefixes, as `/authors/suggest` would answer it.
+     */
+    @Benchmark
+    public List<AuthorSuggestion> suggest() {
+        String prefix = prefixes[next];
+        next = (next + 1) % prefixes.length;
+        return AuthorSuggester.suggest(prefix, LIMIT);
+    }
+}
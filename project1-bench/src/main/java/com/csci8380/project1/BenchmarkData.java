@@ -0,0 +1,136 @@
+package com.csci8380.project1;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+/**
+ * The dataset that the benchmarks run against. By default, this is a small DBLP-shaped graph
+ * that is generated by {@link SyntheticDblpGenerator} from a fixed seed, so that every run
+ * uses exactly the same data. It is generated once and kept in `target/bench-data`. Set the
+ * `bench.hdt` property to run against another HDT file instead, such as the real DBLP dump.
+ */
+public final class BenchmarkData {
+
+    private static final int NUM_AUTHORS = Integer.getInteger("bench.authors", 20000);
+    private static final int NUM_PAPERS = Integer.getInteger("bench.papers", 60000);
+    private static final long SEED = Long.getLong("bench.seed", 8380);
+
+    private BenchmarkData() {}
+
+    /**
+     * @return The path to the HDT file to benchmark against, generating it if needed.
+     * @throws IOException If the dataset could not be generated.
+     */
+    public static synchronized String path() throws IOException {
+        String configured = System.getProperty("bench.hdt");
+        if (configured != null) {
+            return configured;
+        }
+
+        Path path = Paths.get("target", "bench-data",
+                String.format("synthetic-%d-%d-%d.hdt", NUM_AUTHORS, NUM_PAPERS, SEED));
+        if (!Files.exists(path)) {
+            Files.createDirectories(path.getParent());
+            new SyntheticDblpGenerator(NUM_AUTHORS, NUM_PAPERS, SEED).write(path, null);
+        }
+        return path.toString();
+    }
+
+    /**
+     * Finds the pair of co-authors who share the most papers, which is the most expensive
+     * pair to check.
+     * @param dataset The dataset to search.
+     * @return The names of the two authors.
+     */
+    public static String[] prolificPair(Dataset dataset) {
+        CoauthorshipIndex index = dataset.getIndex();
+        int prolific = 0;
+        for (int author = 1; author < index.getNumAuthors(); ++author) {
+            if (index.paperCount(author) > index.paperCount(prolific)) {
+                prolific = author;
+            }
+        }
+
+        // Count the papers shared with each co-author.
+        int[] shared = new int[index.getNumAuthors()];
+        int best = -1;
+        for (int pos = index.papersStart(prolific); pos < index.papersEnd(prolific); ++pos) {
+            int paper = index.paperAt(pos);
+            for (int authorPos = index.authorsStart(paper); authorPos < index.authorsEnd(paper); ++authorPos) {
+                int coauthor = index.authorAt(authorPos);
+                if (coauthor == prolific) {
+                    continue;
+                }
+                ++shared[coauthor];
+                if (best < 0 || shared[coauthor] > shared[best]) {
+                    best = coauthor;
+                }
+            }
+        }
+        return names(dataset, prolific, best);
+    }
+
+    /**
+     * Finds the pair of co-authors with the fewest papers between them, which is the
+     * cheapest pair with a conflict to check.
+     * @param dataset The dataset to search.
+     * @return The names of the two authors.
+     */
+    public static String[] rarePair(Dataset dataset) {
+        CoauthorshipIndex index = dataset.getIndex();
+        int bestFirst = -1;
+        int bestSecond = -1;
+        for (int paper = 0; paper < index.getNumPapers(); ++paper) {
+            // The two authors of the paper with the fewest papers.
+            int first = -1;
+            int second = -1;
+            for (int authorPos = index.authorsStart(paper); authorPos < index.authorsEnd(paper); ++authorPos) {
+                int author = index.authorAt(authorPos);
+                if (first < 0 || index.paperCount(author) < index.paperCount(first)) {
+                    second = first;
+                    first = author;
+                } else if (second < 0 || index.paperCount(author) < index.paperCount(second)) {
+                    second = author;
+                }
+            }
+            if (second >= 0 && (bestFirst < 0 || index.paperCount(first) + index.paperCount(second)
+                    < index.paperCount(bestFirst) + index.paperCount(bestSecond))) {
+                bestFirst = first;
+                bestSecond = second;
+            }
+        }
+        if (bestFirst < 0) {
+            throw new IllegalStateException("The dataset has no pair of co-authors.");
+        }
+        return names(dataset, bestFirst, bestSecond);
+    }
+
+    /**
+     * Draws random pairs of authors, who are mostly not co-authors, so that finding the chains
+     * between them takes a search of several hops.
+     * @param dataset The dataset to draw from.
+     * @param numPairs The number of pairs to draw.
+     * @param seed The seed for the random number generator, so that every run uses the same pairs.
+     * @return The names of the two authors in each pair.
+     */
+    public static String[][] randomPairs(Dataset dataset, int numPairs, long seed) {
+        CoauthorshipIndex index = dataset.getIndex();
+        Random random = new Random(seed);
+        String[][] pairs = new String[numPairs][];
+        for (int i = 0; i < numPairs; ++i) {
+            pairs[i] = names(dataset, random.nextInt(index.getNumAuthors()), random.nextInt(index.getNumAuthors()));
+        }
+        return pairs;
+    }
+
+    private static String[] names(Dataset dataset, int first, int second) {
+        HdtLookup lookup = dataset.getLookup();
+        CoauthorshipIndex index = dataset.getIndex();
+        return new String[] {
+                lookup.nameOf(index.authorId(first)), lookup.nameOf(index.authorId(second)),
+        };
+    }
+}
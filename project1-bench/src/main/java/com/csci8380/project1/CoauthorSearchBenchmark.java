@@ -0,0 +1,77 @@
+package com.csci8380.project1;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the bidirectional search for chains of co-authors, over a fixed set of random
+ * pairs of authors. The search always uses the co-authorship index, so unlike
+ * {@link ConflictCheckBenchmark}, it does not depend on the engine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CoauthorSearchBenchmark {
+
+    private static final int NUM_PAIRS = 1024;
+    private static final long SEED = 8380;
+    private static final int MAX_PATHS = 10;
+    private static final int MAX_VISITED = 50000;
+
+    @Param({"2", "3"})
+    public int hops;
+
+    private Dataset dataset;
+    private String[][] pairs;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void load() throws IOException {
+        KnowledgeGraph.load(BenchmarkData.path());
+        dataset = KnowledgeGraph.acquireDataset();
+        pairs = BenchmarkData.randomPairs(dataset, NUM_PAIRS, SEED);
+    }
+
+    @TearDown(Level.Trial)
+    public void release() {
+        dataset.release();
+    }
+
+    /**
+     * The next of the random pairs, searched on the calling thread.
+     */
+    @Benchmark
+    public List<CollaborationPath> findPathsRandomPairs() {
+        String[] pair = pairs[next];
+        next = (next + 1) % pairs.length;
+        return dataset.findPaths(pair[0], pair[1], hops, MAX_PATHS, MAX_VISITED, YearRange.ALL);
+    }
+
+    /**
+     * The same as {@link #findPathsRandomPairs()}, but run on the query pool, as requests are.
+     */
+    @Benchmark
+    public List<CollaborationPath> findPathsOnPoolRandomPairs() {
+        String[] pair = pairs[next];
+        next = (next + 1) % pairs.length;
+        return KnowledgeGraph.findPaths(dataset, pair[0], pair[1], hops, MAX_PATHS, MAX_VISITED, YearRange.ALL);
+    }
+}
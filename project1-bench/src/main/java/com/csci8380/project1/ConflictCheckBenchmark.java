@@ -0,0 +1,88 @@
+package com.csci8380.project1;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures single-pair conflict checks with each engine, for the cheapest and the most
+ * expensive pair of co-authors in the dataset. Each engine runs in its own fork, since the
+ * engine is chosen when the graph is loaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConflictCheckBenchmark {
+
+    @Param({"sparql", "native", "index"})
+    public String engine;
+
+    private Dataset dataset;
+    private String[] rarePair;
+    private String[] prolificPair;
+
+    @Setup(Level.Trial)
+    public void load() throws IOException {
+        System.setProperty("dblp.engine", engine);
+        KnowledgeGraph.load(BenchmarkData.path());
+        dataset = KnowledgeGraph.acquireDataset();
+        rarePair = BenchmarkData.rarePair(dataset);
+        prolificPair = BenchmarkData.prolificPair(dataset);
+    }
+
+    @TearDown(Level.Trial)
+    public void release() {
+        dataset.release();
+    }
+
+    /**
+     * The pair of co-authors with the fewest papers, run on the query pool.
+     */
+    @Benchmark
+    public List<Paper> findCoiRarePair() {
+        return KnowledgeGraph.findCOI(dataset, rarePair[0], rarePair[1], YearRange.ALL);
+    }
+
+    /**
+     * The pair of authors who share the most papers, run on the query pool.
+     */
+    @Benchmark
+    public List<Paper> findCoiProlificPair() {
+        return KnowledgeGraph.findCOI(dataset, prolificPair[0], prolificPair[1], YearRange.ALL);
+    }
+
+    /**
+     * The same as {@link #findCoiProlificPair()}, but calling the engine directly, so that
+     * the cost of handing the query to the pool can be told apart.
+     */
+    @Benchmark
+    public List<Paper> engineProlificPair() {
+        return dataset.getEngine().findCOI(prolificPair[0], prolificPair[1], YearRange.ALL);
+    }
+
+    /**
+     * The whole of an uncached checkNames request for the most expensive pair, apart from
+     * serialization.
+     */
+    @Benchmark
+    public ConflictCheckResult checkNamesProlificPair() {
+        return ConflictChecker.checkUncached(dataset, prolificPair[0], prolificPair[1], 1, YearRange.ALL);
+    }
+}
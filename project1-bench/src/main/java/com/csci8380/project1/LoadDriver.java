@@ -0,0 +1,288 @@
+package com.csci8380.project1;
+
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.json.bind.JsonbConfig;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+/**
+ * Sends a {@link PairWorkload} to the `/check_names` endpoint of a running server, or another
+ * endpoint with the same parameters such as `/check_names/async`, and reports the throughput
+ * and latency as JSON, so that capacity can be compared between releases.
+ * <p>
+ * In closed-loop mode, a fixed number of workers each send a request, wait for the response,
+ * and send the next. In open-loop mode, requests are sent on a fixed schedule whether or not
+ * earlier ones have finished, up to the concurrency limit, like independent users would.
+ * <p>
+ * When a target rate is set, every request has a time at which it is due, and its latency is
+ * measured from then rather than from when it was actually sent. Otherwise a slow response
+ * would delay the requests behind it, and the time they spent waiting would be left out of
+ * the results (coordinated omission). Without a rate, closed-loop requests are due as soon
+ * as the previous one finishes, so the latency is only the service time.
+ */
+public final class LoadDriver {
+
+    private static final Logger LOGGER = Logger.getLogger(LoadDriver.class.getName());
+
+    /// Histogram key for requests that failed.
+    private static final String ERROR = "ERROR";
+
+    private final String url;
+    /// Path of the endpoint under the URL, such as `/check_names` or `/check_names/async`.
+    private final String path;
+    private final PairWorkload workload;
+    private final int concurrency;
+    /// Requests per second, or 0 to send them as fast as possible.
+    private final double rate;
+    private final int hops;
+
+    private final Jsonb jsonb = JsonbBuilder.create();
+    private final AtomicLong nextPair = new AtomicLong();
+    private final ConcurrentHistogram latency = new ConcurrentHistogram(3);
+    private final ConcurrentHistogram serviceTime = new ConcurrentHistogram(3);
+    private final Map<String, ConcurrentHistogram> latencyByLevel = new ConcurrentHashMap<>();
+    private final Map<String, ConcurrentHistogram> latencyByKind = new ConcurrentHashMap<>();
+    private final AtomicLong errors = new AtomicLong();
+    private volatile String datasetVersion;
+
+    /// Requests that are due before this are not measured.
+    private long measureStart;
+    /// Requests that are due after this are not sent.
+    private long end;
+
+    LoadDriver(String url, String path, PairWorkload workload, int concurrency, double rate, int hops) {
+        this.url = url;
+        this.path = path;
+        this.workload = workload;
+        this.concurrency = concurrency;
+        this.rate = rate;
+        this.hops = hops;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("load.url", "http://localhost:8080/project1-1.0-SNAPSHOT/api");
+        String path = System.getProperty("load.path", "/check_names");
+        String mode = System.getProperty("load.mode", "closed");
+        int concurrency = Integer.getInteger("load.concurrency", 16);
+        double rate = Double.parseDouble(System.getProperty("load.rate", "0"));
+        long warmupSeconds = Long.getLong("load.warmupSeconds", 10);
+        long durationSeconds = Long.getLong("load.durationSeconds", 60);
+        int hops = Integer.getInteger("load.hops", 1);
+        long seed = Long.getLong("load.seed", 8380);
+        String output = System.getProperty("load.output");
+        if (!mode.equals("closed") && !mode.equals("open")) {
+            throw new IllegalArgumentException("load.mode must be \"closed\" or \"open\".");
+        }
+        if (mode.equals("open") && rate <= 0) {
+            throw new IllegalArgumentException("An open-loop run needs a load.rate.");
+        }
+
+        String hdtPath = System.getProperty("load.hdt");
+        if (hdtPath == null) {
+            hdtPath = BenchmarkData.path();
+        }
+        PairWorkload workload = PairWorkload.generate(hdtPath,
+                Integer.getInteger("load.pairs", 100_000),
+                Integer.getInteger("load.hotPairs", 100),
+                Double.parseDouble(System.getProperty("load.hotFraction", "0.5")),
+                Double.parseDouble(System.getProperty("load.unknownFraction", "0.05")),
+                Double.parseDouble(System.getProperty("load.zipfExponent", "1.0")),
+                seed);
+        LOGGER.info("Generated " + workload.size() + " pairs from " + hdtPath);
+
+        // Keep a connection open for every worker.
+        System.setProperty("http.maxConnections", Integer.toString(concurrency));
+        LoadDriver driver = new LoadDriver(url, path, workload, concurrency, rate, hops);
+        LoadReport report = driver.run(mode.equals("open"), TimeUnit.SECONDS.toNanos(warmupSeconds),
+                TimeUnit.SECONDS.toNanos(durationSeconds));
+        report.setMode(mode);
+
+        try (Jsonb jsonb = JsonbBuilder.create(new JsonbConfig().withFormatting(true))) {
+            String json = jsonb.toJson(report);
+            if (output != null) {
+                Files.write(Paths.get(output), json.getBytes(StandardCharsets.UTF_8));
+            } else {
+                System.out.println(json);
+            }
+        }
+        LOGGER.info(String.format("%d requests (%d errors) at %.1f/s: p50 %.2f ms, p99 %.2f ms, max %.2f ms",
+                report.getRequests(), report.getErrors(), report.getThroughput(), report.getLatency().getP50(),
+                report.getLatency().getP99(), report.getLatency().getMax()));
+        driver.jsonb.close();
+    }
+
+    /**
+     * Sends requests for the warm-up and the measured duration.
+     * @param open Whether to run open-loop.
+     * @param warmupNanos How long to send requests for before measuring.
+     * @param durationNanos How long to measure for.
+     * @return The results.
+     * @throws InterruptedException If the thread was interrupted.
+     */
+    LoadReport run(boolean open, long warmupNanos, long durationNanos) throws InterruptedException {
+        long start = System.nanoTime();
+        measureStart = start + warmupNanos;
+        end = measureStart + durationNanos;
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        if (open) {
+            // Dispatch every request when it is due. If all the workers are busy, it waits in
+            // the queue, and that wait counts towards its latency.
+            long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+            for (long due = start; due < end; due += interval) {
+                sleepUntil(due);
+                long requestDue = due;
+                workers.execute(() -> send(requestDue));
+            }
+        } else {
+            long interval = rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) * concurrency / rate) : 0;
+            for (int worker = 0; worker < concurrency; ++worker) {
+                // Spread the workers out over the first interval.
+                long offset = interval * worker / concurrency;
+                workers.execute(() -> {
+                    long due = start + offset;
+                    while (due < end) {
+                        if (interval > 0) {
+                            sleepUntil(due);
+                        } else {
+                            due = System.nanoTime();
+                        }
+                        send(due);
+                        due += interval;
+                    }
+                });
+            }
+        }
+        workers.shutdown();
+        // Give the last requests time to finish, but do not wait for a hung server forever.
+        if (!workers.awaitTermination(5, TimeUnit.MINUTES)) {
+            workers.shutdownNow();
+            LOGGER.warning("Some requests did not finish");
+        }
+        long finished = System.nanoTime();
+
+        LoadReport report = new LoadReport();
+        report.setUrl(url + path);
+        report.setDatasetVersion(datasetVersion);
+        report.setConcurrency(concurrency);
+        report.setTargetRate(rate > 0 ? rate : null);
+        report.setHops(hops);
+        report.setDurationSeconds((double) durationNanos / TimeUnit.SECONDS.toNanos(1));
+        report.setRequests(latency.getTotalCount());
+        report.setErrors(errors.get());
+        report.setThroughput(latency.getTotalCount() * 1e9 / Math.max(finished - measureStart, 1));
+        report.setLatency(summarize(latency));
+        report.setServiceTime(summarize(serviceTime));
+        latencyByLevel.forEach((level, histogram) -> report.getLatencyByLevel().put(level, summarize(histogram)));
+        latencyByKind.forEach((kind, histogram) -> report.getLatencyByKind().put(kind, summarize(histogram)));
+        return report;
+    }
+
+    /**
+     * Sends the next pair of the workload and records its latency.
+     * @param due The time at which the request was due to be sent.
+     */
+    private void send(long due) {
+        int pair = (int) (nextPair.getAndIncrement() % workload.size());
+        long sent = System.nanoTime();
+        String level;
+        try {
+            level = check(workload.firstName(pair), workload.secondName(pair));
+        } catch (IOException e) {
+            level = ERROR;
+        }
+        long done = System.nanoTime();
+
+        if (due < measureStart) {
+            return;
+        }
+        if (level.equals(ERROR)) {
+            errors.incrementAndGet();
+        }
+        long latencyMicros = TimeUnit.NANOSECONDS.toMicros(done - due);
+        latency.recordValue(latencyMicros);
+        serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(done - sent));
+        latencyByLevel.computeIfAbsent(level, key -> new ConcurrentHistogram(3)).recordValue(latencyMicros);
+        latencyByKind.computeIfAbsent(workload.kind(pair).name(), key -> new ConcurrentHistogram(3))
+                .recordValue(latencyMicros);
+    }
+
+    /**
+     * Checks a pair of names.
+     * @return The conflict level, or {@link #ERROR} if the server did not return 200.
+     * @throws IOException If the request failed.
+     */
+    private String check(String firstName, String secondName) throws IOException {
+        URL request = new URL(url + path + "?firstName=" + encode(firstName)
+                + "&secondName=" + encode(secondName) + "&hops=" + hops);
+        HttpURLConnection connection = (HttpURLConnection) request.openConnection();
+        connection.setRequestProperty("Accept", "application/json");
+        int status = connection.getResponseCode();
+        // The body is always read in full, so that the connection can be reused.
+        InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        byte[] content = body != null ? readAll(body) : new byte[0];
+        if (status != HttpURLConnection.HTTP_OK) {
+            return ERROR;
+        }
+        if (datasetVersion == null) {
+            datasetVersion = connection.getHeaderField("X-Dataset-Version");
+        }
+        ConflictCheckResult result = jsonb.fromJson(new String(content, StandardCharsets.UTF_8),
+                ConflictCheckResult.class);
+        return result.getLevel().name();
+    }
+
+    private static String encode(String value) throws UnsupportedEncodingException {
+        return URLEncoder.encode(value, "UTF-8");
+    }
+
+    private static byte[] readAll(InputStream input) throws IOException {
+        try (InputStream stream = input; ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = stream.read(buffer)) >= 0) {
+                output.write(buffer, 0, read);
+            }
+            return output.toByteArray();
+        }
+    }
+
+    private static void sleepUntil(long time) {
+        long remaining;
+        while ((remaining = time - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static LatencySummary summarize(Histogram histogram) {
+        LatencySummary summary = new LatencySummary();
+        summary.setCount(histogram.getTotalCount());
+        summary.setMean(histogram.getMean() / 1000);
+        summary.setP50(histogram.getValueAtPercentile(50) / 1000.0);
+        summary.setP90(histogram.getValueAtPercentile(90) / 1000.0);
+        summary.setP99(histogram.getValueAtPercentile(99) / 1000.0);
+        summary.setP999(histogram.getValueAtPercentile(99.9) / 1000.0);
+        summary.setMax(histogram.getMaxValue() / 1000.0);
+        return summary;
+    }
+}
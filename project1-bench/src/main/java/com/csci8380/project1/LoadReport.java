@@ -0,0 +1,151 @@
+package com.csci8380.project1;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Model representing the results of a run of the {@link LoadDriver}.
+ */
+public class LoadReport {
+    /// Base URL of the API that was tested.
+    private String url;
+    /// Version of the dataset that answered, from the `X-Dataset-Version` header.
+    private String datasetVersion;
+    /// Either "open" or "closed".
+    private String mode;
+    /// Number of requests that could be in flight at once.
+    private int concurrency;
+    /// Requests per second that were scheduled, or null if they were sent as fast as possible.
+    private Double targetRate;
+    private int hops;
+    /// Length of the measured part of the run, after the warm-up.
+    private double durationSeconds;
+    /// Number of requests that were measured.
+    private long requests;
+    /// Number of measured requests that failed or did not return 200.
+    private long errors;
+    /// Requests completed per second.
+    private double throughput;
+    /// Latency from when each request was due to be sent, which includes any time it
+    /// waited because earlier requests were slow.
+    private LatencySummary latency;
+    /// Latency from when each request was actually sent. Unlike `latency`, this hides
+    /// queueing, so it should only be used to see how much of the latency is spent waiting.
+    private LatencySummary serviceTime;
+    /// Latency of the requests for each conflict level, or "ERROR" for failures.
+    private Map<String, LatencySummary> latencyByLevel = new TreeMap<>();
+    /// Latency of hot, cold and unknown pairs.
+    private Map<String, LatencySummary> latencyByKind = new TreeMap<>();
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getDatasetVersion() {
+        return datasetVersion;
+    }
+
+    public void setDatasetVersion(String datasetVersion) {
+        this.datasetVersion = datasetVersion;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public Double getTargetRate() {
+        return targetRate;
+    }
+
+    public void setTargetRate(Double targetRate) {
+        this.targetRate = targetRate;
+    }
+
+    public int getHops() {
+        return hops;
+    }
+
+    public void setHops(int hops) {
+        this.hops = hops;
+    }
+
+    public double getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public void setDurationSeconds(double durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public void setRequests(long requests) {
+        this.requests = requests;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public void setErrors(long errors) {
+        this.errors = errors;
+    }
+
+    public double getThroughput() {
+        return throughput;
+    }
+
+    public void setThroughput(double throughput) {
+        this.throughput = throughput;
+    }
+
+    public LatencySummary getLatency() {
+        return latency;
+    }
+
+    public void setLatency(LatencySummary latency) {
+        this.latency = latency;
+    }
+
+    public LatencySummary getServiceTime() {
+        return serviceTime;
+    }
+
+    public void setServiceTime(LatencySummary serviceTime) {
+        this.serviceTime = serviceTime;
+    }
+
+    public Map<String, LatencySummary> getLatencyByLevel() {
+        return latencyByLevel;
+    }
+
+    public void setLatencyByLevel(Map<String, LatencySummary> latencyByLevel) {
+        this.latencyByLevel = latencyByLevel;
+    }
+
+    public Map<String, LatencySummary> getLatencyByKind() {
+        return latencyByKind;
+    }
+
+    public void setLatencyByKind(Map<String, LatencySummary> latencyByKind) {
+        this.latencyByKind = latencyByKind;
+    }
+}
@@ -0,0 +1,194 @@
+package com.csci8380.project1;
+
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.hdt.HDTManager;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A fixed sequence of name pairs to check, drawn from the authors of an HDT file so that it
+ * resembles real traffic. Authors are drawn from a Zipf distribution over how many papers
+ * they have, so prolific authors are checked most often. The sequence mixes three kinds of
+ * pair:
+ * <ul>
+ *     <li>Hot pairs, which come from a small pool of co-authors and repeat often, like a
+ *     program committee checking the same popular reviewers.</li>
+ *     <li>Cold pairs, which are new every time. Half of them are co-authors, and the rest
+ *     are two unrelated authors.</li>
+ *     <li>Unknown pairs, in which one of the names is not in the dataset.</li>
+ * </ul>
+ * The sequence depends only on the dataset, the settings and the seed, so that every run
+ * replays the same requests.
+ */
+public final class PairWorkload {
+
+    /**
+     * The kinds of pair in a workload.
+     */
+    public enum Kind {
+        HOT,
+        COLD,
+        UNKNOWN,
+    }
+
+    private final String[] firstNames;
+    private final String[] secondNames;
+    private final Kind[] kinds;
+
+    private PairWorkload(int numPairs) {
+        firstNames = new String[numPairs];
+        secondNames = new String[numPairs];
+        kinds = new Kind[numPairs];
+    }
+
+    /**
+     * Generates a workload from the authors of an HDT file.
+     * @param hdtPath The HDT file that the server is answering from.
+     * @param numPairs The number of pairs to generate. The sequence repeats after this.
+     * @param numHotPairs The number of pairs in the hot pool.
+     * @param hotFraction The fraction of the pairs that come from the hot pool.
+     * @param unknownFraction The fraction of the pairs with an unknown name.
+     * @param zipfExponent The exponent of the Zipf distribution that authors, and hot pairs,
+     *  are drawn from. Higher values concentrate the load on fewer authors.
+     * @param seed The seed for the random number generator.
+     * @return The workload.
+     * @throws IOException If the HDT file could not be read.
+     */
+    public static PairWorkload generate(String hdtPath, int numPairs, int numHotPairs, double hotFraction,
+                                        double unknownFraction, double zipfExponent, long seed)
+            throws IOException {
+        try (HDT hdt = HDTManager.mapIndexedHDT(hdtPath, null)) {
+            HdtLookup lookup = new HdtLookup(hdt);
+            CoauthorshipIndex index = CoauthorshipIndex.build(lookup, (level, message) -> {});
+            if (index.getNumAuthors() < 2) {
+                throw new IOException(hdtPath + " has fewer than two authors.");
+            }
+            Sampler sampler = new Sampler(index, zipfExponent, new Random(seed));
+
+            String[][] hotPairs = new String[Math.max(numHotPairs, 1)][];
+            for (int i = 0; i < hotPairs.length; ++i) {
+                int author = sampler.author();
+                hotPairs[i] = names(lookup, index, author, sampler.coauthor(author));
+            }
+
+            PairWorkload workload = new PairWorkload(numPairs);
+            for (int i = 0; i < numPairs; ++i) {
+                double kind = sampler.random.nextDouble();
+                String[] pair;
+                if (kind < unknownFraction) {
+                    workload.kinds[i] = Kind.UNKNOWN;
+                    pair = new String[] {
+                            lookup.nameOf(index.authorId(sampler.author())),
+                            "Unknown Author " + sampler.random.nextInt(1_000_000),
+                    };
+                } else if (kind < unknownFraction + hotFraction) {
+                    workload.kinds[i] = Kind.HOT;
+                    pair = hotPairs[sampler.rank(hotPairs.length)];
+                } else {
+                    workload.kinds[i] = Kind.COLD;
+                    int author = sampler.author();
+                    int other = sampler.random.nextBoolean() ? sampler.coauthor(author) : sampler.author();
+                    pair = names(lookup, index, author, other);
+                }
+                workload.firstNames[i] = pair[0];
+                workload.secondNames[i] = pair[1];
+            }
+            return workload;
+        }
+    }
+
+    private static String[] names(HdtLookup lookup, CoauthorshipIndex index, int first, int second) {
+        return new String[] {
+                lookup.nameOf(index.authorId(first)), lookup.nameOf(index.authorId(second)),
+        };
+    }
+
+    /**
+     * @return The number of pairs before the sequence repeats.
+     */
+    public int size() {
+        return kinds.length;
+    }
+
+    public String firstName(int pair) {
+        return firstNames[pair];
+    }
+
+    public String secondName(int pair) {
+        return secondNames[pair];
+    }
+
+    public Kind kind(int pair) {
+        return kinds[pair];
+    }
+
+    /**
+     * Draws authors, with the most prolific authors the most likely.
+     */
+    private static class Sampler {
+        final Random random;
+        private final CoauthorshipIndex index;
+        private final double exponent;
+        /// The authors, from the most papers to the fewest.
+        private final int[] ranked;
+
+        Sampler(CoauthorshipIndex index, double exponent, Random random) {
+            this.index = index;
+            this.exponent = exponent;
+            this.random = random;
+
+            // Sort by paper count and then by ID, so that the order is the same every time.
+            long[] keys = new long[index.getNumAuthors()];
+            for (int author = 0; author < keys.length; ++author) {
+                keys[author] = ((long) (Integer.MAX_VALUE - index.paperCount(author)) << 32) | author;
+            }
+            Arrays.sort(keys);
+            ranked = new int[keys.length];
+            for (int i = 0; i < keys.length; ++i) {
+                ranked[i] = (int) keys[i];
+            }
+        }
+
+        /**
+         * @return A rank from 0 to `n - 1`, drawn from a Zipf distribution by inverse
+         *  transform sampling.
+         */
+        int rank(int n) {
+            double u = random.nextDouble();
+            double rank;
+            if (Math.abs(exponent - 1) < 1e-9) {
+                rank = Math.pow(n + 1, u);
+            } else {
+                rank = Math.pow((Math.pow(n + 1, 1 - exponent) - 1) * u + 1, 1 / (1 - exponent));
+            }
+            return Math.min((int) rank - 1, n - 1);
+        }
+
+        int author() {
+            return ranked[rank(ranked.length)];
+        }
+
+        /**
+         * @return A random co-author of an author, or another author if they have never had
+         *  a co-author.
+         */
+        int coauthor(int author) {
+            int numPapers = index.papersEnd(author) - index.papersStart(author);
+            for (int attempt = 0; attempt < 8 && numPapers > 0; ++attempt) {
+                int paper = index.paperAt(index.papersStart(author) + random.nextInt(numPapers));
+                int numAuthors = index.authorsEnd(paper) - index.authorsStart(paper);
+                int coauthor = index.authorAt(index.authorsStart(paper) + random.nextInt(numAuthors));
+                if (coauthor != author) {
+                    return coauthor;
+                }
+            }
+            int other;
+            do {
+                other = author();
+            } while (other == author);
+            return other;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.csci8380.project1;
+
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.sparql.engine.ResultSetStream;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.engine.binding.Binding;
+import org.apache.jena.sparql.engine.binding.BindingFactory;
+import org.apache.jena.sparql.engine.binding.BindingMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building papers from the solutions of the SPARQL query, separately from running
+ * it, over solutions that are already in memory. {@link #extractFromStrings} is the way
+ * papers used to be built, by turning each solution into a string and splitting it on
+ * quotes, as a baseline for {@link #extract}. Run with `-prof gc` to compare how much each
+ * allocates, which is reported as `gc.alloc.rate.norm` in bytes per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultExtractionBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    public int numSolutions;
+
+    private List<Binding> solutions;
+    /// Model and variables for reading the solutions as a result set, as the baseline did.
+    private Model model;
+    private List<String> vars;
+
+    @Setup
+    public void createSolutions() {
+        Var title = Var.alloc("title");
+        Var year = Var.alloc("year");
+        solutions = new ArrayList<>(numSolutions);
+        for (int i = 0; i < numSolutions; ++i) {
+            // The year is bound on top of the title, as the query binds them, so the year
+            // comes first in the string form that the baseline splits.
+            BindingMap titleBinding = BindingFactory.create();
+            titleBinding.add(title, NodeFactory.createLiteral("A Study of Conflicts of Interest, Part " + i));
+            BindingMap solution = BindingFactory.create(titleBinding);
+            solution.add(year, NodeFactory.createLiteral(Integer.toString(2020 - i / 10), XSDDatatype.XSDgYear));
+            solutions.add(solution);
+        }
+        model = ModelFactory.createDefaultModel();
+        vars = Arrays.asList(year.getVarName(), title.getVarName());
+
+        // The baseline depends on where the quotes fall, so make sure it reads the same papers.
+        List<Paper> expected = extract();
+        List<Paper> baseline = extractFromStrings();
+        for (int i = 0; i < numSolutions; ++i) {
+            if (!expected.get(i).getName().equals(baseline.get(i).getName())
+                    || expected.get(i).getYear() != baseline.get(i).getYear()) {
+                throw new IllegalStateException("The baseline read solution " + i + " differently.");
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Paper> extract() {
+        return SparqlConflictEngine.extract(solutions.iterator(), YearRange.ALL);
+    }
+
+    @Benchmark
+    public List<Paper> extractFromStrings() {
+        ResultSet resultSet = new ResultSetStream(vars, model, solutions.iterator());
+        List<String> strings = new ArrayList<String>();
+        while (resultSet.hasNext()) {
+            strings.add(resultSet.next().toString());
+        }
+
+        List<Paper> papers = new ArrayList<Paper>();
+        for (String element : strings) {
+            String[] splitElement = element.split("\"");
+            Paper paper = new Paper();
+            paper.setName(splitElement[3]);
+            paper.setYear(Integer.parseInt(splitElement[1]));
+            papers.add(paper);
+        }
+        return papers;
+    }
+}
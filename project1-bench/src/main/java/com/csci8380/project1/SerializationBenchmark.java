@@ -0,0 +1,115 @@
+package com.csci8380.project1;
+
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serializing a {@link ConflictCheckResult} to JSON with JSON-B, which is how the
+ * app server writes checkNames responses.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    /**
+     * A result with a number of shared papers.
+     */
+    @State(Scope.Benchmark)
+    public static class DirectResult {
+        @Param({"0", "10", "100"})
+        public int numPapers;
+
+        ConflictCheckResult result;
+
+        @Setup
+        public void create() {
+            result = new ConflictCheckResult();
+            result.setLevel(ConflictLevel.forPaperCount(numPapers));
+            result.setDatasetVersion("dblp-20170124");
+            for (int i = 0; i < numPapers; ++i) {
+                Paper paper = new Paper();
+                paper.setName("A Study of Conflicts of Interest, Part " + i);
+                paper.setYear(2020 - i / 10);
+                result.getPapers().add(paper);
+            }
+        }
+    }
+
+    /**
+     * An indirect result, with several chains of co-authors.
+     */
+    @State(Scope.Benchmark)
+    public static class IndirectResult {
+        ConflictCheckResult result;
+
+        @Setup
+        public void create() {
+            result = new ConflictCheckResult();
+            result.setLevel(ConflictLevel.INDIRECT);
+            result.setDatasetVersion("dblp-20170124");
+            CollaborationPath path = new CollaborationPath();
+            path.getAuthors().addAll(Arrays.asList("Alice Smith", "Carol Müller", "Dave Brown"));
+            for (int i = 0; i < 2; ++i) {
+                Paper paper = new Paper();
+                paper.setName("Linking Paper " + i);
+                paper.setYear(2010 + i);
+                path.getPapers().add(paper);
+            }
+            result.setPaths(Arrays.asList(path, path, path));
+        }
+    }
+
+    /**
+     * The serializer, and a buffer to write to.
+     */
+    @State(Scope.Thread)
+    public static class Serializer {
+        Jsonb jsonb;
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(64 * 1024);
+
+        @Setup
+        public void create() {
+            jsonb = JsonbBuilder.create();
+        }
+
+        @TearDown
+        public void close() throws Exception {
+            jsonb.close();
+        }
+
+        int write(Object value) {
+            output.reset();
+            jsonb.toJson(value, output);
+            return output.size();
+        }
+    }
+
+    @Benchmark
+    public int serialize(Serializer serializer, DirectResult result) {
+        return serializer.write(result.result);
+    }
+
+    @Benchmark
+    public int serializeIndirect(Serializer serializer, IndirectResult result) {
+        return serializer.write(result.result);
+    }
+}
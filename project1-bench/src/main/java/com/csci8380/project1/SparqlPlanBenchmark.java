@@ -0,0 +1,44 @@
+package com.csci8380.project1;
+
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryFactory;
+import org.apache.jena.query.Syntax;
+import org.apache.jena.sparql.algebra.Algebra;
+import org.apache.jena.sparql.algebra.Op;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of preparing the SPARQL query: parsing it, compiling and optimizing it
+ * to an algebra plan, and binding a pair of names into the prepared plan. Only the last one
+ * is paid on each check.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SparqlPlanBenchmark {
+
+    @Benchmark
+    public Query parse() {
+        return QueryFactory.create(SparqlConflictEngine.QUERY_STRING, Syntax.syntaxSPARQL_11);
+    }
+
+    @Benchmark
+    public Op compileAndOptimize() {
+        return Algebra.optimize(Algebra.compile(SparqlConflictEngine.QUERY));
+    }
+
+    @Benchmark
+    public Op bind() {
+        return SparqlConflictEngine.bind("Alice Smith", "Bob Jones");
+    }
+}
@@ -20,9 +20,39 @@ const CONFLICT_LEVEL_TO_ENUM = new Map<string, ConflictCheckResultLevelEnum>([
   ["STRONG", ConflictCheckResultLevelEnum.STRONG],
   ["MEDIUM", ConflictCheckResultLevelEnum.MEDIUM],
   ["LOW", ConflictCheckResultLevelEnum.LOW],
+  ["INDIRECT", ConflictCheckResultLevelEnum.INDIRECT],
   ["NONE", ConflictCheckResultLevelEnum.NONE],
 ]);
 
+/** Maximum number of results to keep for revalidation. */
+const MAX_CACHED_RESULTS = 100;
+
+/** A previous result, along with the caching headers it was sent with. */
+interface CachedResult {
+  /** The `ETag` of the result, which is sent back to revalidate it. */
+  etag?: string;
+  /** When the result stops being fresh, in milliseconds since the epoch. */
+  expiresAt: number;
+  result: ConflictCheckResult;
+}
+
+/** Previous results, keyed by the pair of names. */
+const resultCache = new Map<string, CachedResult>();
+
+/**
+ * Works out how long a response may be reused without revalidating it.
+ * @param {string} cacheControl The `Cache-Control` header of the response.
+ * @return {number} The time in milliseconds, which is 0 if it must always be
+ *  revalidated.
+ */
+function freshnessLifetime(cacheControl?: string): number {
+  const maxAge = /max-age=(\d+)/.exec(cacheControl ?? "");
+  if (maxAge === null || /no-cache/.test(cacheControl ?? "")) {
+    return 0;
+  }
+  return Number(maxAge[1]) * 1000;
+}
+
 /**
  * Coerces a raw response from Axios to the ConflictCheckResult structure.
  * @param {ConflictCheckResult} response The response to coerce.
@@ -41,7 +71,9 @@ function responseToConflictCheckResult(
 
 /**
  * Checks two researchers by name to see if they
- * have a conflict-of-interest.
+ * have a conflict-of-interest. Results are reused while the server says they
+ * are fresh, and then revalidated with their `ETag`, so that a repeated check
+ * is only run again if the dataset has changed.
  * @param {string} firstName The name of the first researcher.
  * @param {string} secondName The name of the second researcher.
  * @return {ConflictCheckResult} The result of the check.
@@ -50,12 +82,48 @@ export async function checkNames(
   firstName: string,
   secondName: string
 ): Promise<ConflictCheckResult> {
+  const key = `${firstName}\u0000${secondName}`;
+  const cached = resultCache.get(key);
+  if (cached !== undefined && Date.now() < cached.expiresAt) {
+    return cached.result;
+  }
+
+  const headers: Record<string, string> = {};
+  if (cached?.etag !== undefined) {
+    headers["If-None-Match"] = cached.etag;
+  }
   const response = await api
-    .checkNames(firstName, secondName)
+    .checkNames(firstName, secondName, undefined, undefined, undefined, {
+      headers: headers,
+      // A 304 means that our copy of the result is still current.
+      validateStatus: (status) =>
+        (status >= 200 && status < 300) || status === 304,
+    })
     .catch(function (error) {
       console.error(error.toJSON());
       throw error;
     });
 
-  return responseToConflictCheckResult(response.data);
+  const cacheControl = response.headers["cache-control"];
+  if (response.status === 304 && cached !== undefined) {
+    cached.expiresAt = Date.now() + freshnessLifetime(cacheControl);
+    return cached.result;
+  }
+
+  const result = responseToConflictCheckResult(response.data);
+  if (/no-store/.test(cacheControl ?? "")) {
+    resultCache.delete(key);
+    return result;
+  }
+  // Re-inserting the key moves it to the end, so the oldest entry is first.
+  resultCache.delete(key);
+  resultCache.set(key, {
+    etag: response.headers["etag"],
+    expiresAt: Date.now() + freshnessLifetime(cacheControl),
+    result: result,
+  });
+  if (resultCache.size > MAX_CACHED_RESULTS) {
+    resultCache.delete(resultCache.keys().next().value);
+  }
+  return result;
 }
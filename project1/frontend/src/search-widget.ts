@@ -123,6 +123,11 @@ export class SearchWidget extends LitElement {
           No Conflicts Found
         </h1>`;
       }
+      case ConflictCheckResultLevelEnum.INDIRECT: {
+        return html`<h1 class="overview_common overview_conflicts">
+          Indirect Conflicts Found
+        </h1>`;
+      }
       case ConflictCheckResultLevelEnum.LOW: {
         return html`<h1 class="overview_common overview_conflicts">
           Mild Conflicts Found
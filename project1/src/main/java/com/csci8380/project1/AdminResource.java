@@ -0,0 +1,90 @@
+package com.csci8380.project1;
+
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.ForbiddenException;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.NotAuthorizedException;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+
+@Path("/admin")
+public class AdminResource {
+
+    /**
+     * Makes sure that a request comes from an administrator. Requests must send the token
+     * set by the `dblp.admin.token` property as a bearer token. If the property is not set,
+     * the admin endpoints are disabled.
+     * @param authorization The Authorization header of the request.
+     * @throws ForbiddenException If the admin endpoints are disabled.
+     * @throws NotAuthorizedException If the token is missing or wrong.
+     */
+    private static void requireAdmin(String authorization) {
+        String token = System.getProperty("dblp.admin.token");
+        if (token == null || token.isEmpty()) {
+            throw new ForbiddenException("Admin endpoints are disabled.");
+        }
+        String expected = "Bearer " + token;
+        // Compare in constant time, so that the token cannot be guessed from response times.
+        if (authorization == null || !MessageDigest.isEqual(
+                expected.getBytes(StandardCharsets.UTF_8), authorization.getBytes(StandardCharsets.UTF_8))) {
+            throw new NotAuthorizedException("Bearer");
+        }
+    }
+
+    /**
+     * Endpoint that reports the dataset that answers queries, and the progress of any swap.
+     * @param authorization The admin bearer token.
+     * @return JSON status of the dataset.
+     */
+    @GET
+    @Path("/dataset")
+    @Produces(MediaType.APPLICATION_JSON)
+    public DatasetStatus getDataset(@HeaderParam(HttpHeaders.AUTHORIZATION) String authorization) {
+        requireAdmin(authorization);
+        return KnowledgeGraph.getDatasetStatus();
+    }
+
+    /**
+     * Endpoint that loads a new DBLP dataset in the background, and swaps it in once it is
+     * ready. The current dataset keeps answering queries until then.
+     * @param authorization The admin bearer token.
+     * @param request The path to the new dataset.
+     * @return JSON status of the dataset, with a 202 status.
+     * @throws BadRequestException If the new dataset does not exist.
+     * @throws ClientErrorException If another swap is already running, with a 409 status.
+     * @throws ServiceUnavailableException If the first dataset is still loading.
+     */
+    @POST
+    @Path("/dataset")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response swapDataset(@HeaderParam(HttpHeaders.AUTHORIZATION) String authorization,
+                                DatasetSwapRequest request) {
+        requireAdmin(authorization);
+        if (request == null || request.getPath() == null || !Files.isRegularFile(Paths.get(request.getPath()))) {
+            throw new BadRequestException("Expected a JSON object with the path to an HDT file on the server.");
+        }
+        if (request.getSnapshot() != null && !Files.isRegularFile(Paths.get(request.getSnapshot()))) {
+            throw new BadRequestException("The snapshot " + request.getSnapshot() + " does not exist.");
+        }
+        NameCheckResource.requireGraph();
+
+        if (!KnowledgeGraph.startSwap(request.getPath(), request.getSnapshot())) {
+            throw new ClientErrorException("A dataset is already being loaded.", Response.Status.CONFLICT);
+        }
+        return Response.accepted(KnowledgeGraph.getDatasetStatus()).build();
+    }
+}
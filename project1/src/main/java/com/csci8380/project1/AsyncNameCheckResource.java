@@ -0,0 +1,149 @@
+package com.csci8380.project1;
+
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.ConnectionCallback;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+@Path("/check_names/async")
+public class AsyncNameCheckResource {
+
+    private static final Logger LOGGER = Logger.getLogger(AsyncNameCheckResource.class.getName());
+
+    /// Maximum number of checks that may be in progress at once, as set by the
+    /// `conflict.async.maxInFlight` property. By default, this is as many queries as the
+    /// query pool can hold, so that a check that is let in is not then turned away by the pool.
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("conflict.async.maxInFlight",
+            KnowledgeGraph.getQueryCapacity());
+    private static final Semaphore IN_FLIGHT = new Semaphore(MAX_IN_FLIGHT);
+
+    /// Runs the checks, so that container threads are freed immediately.
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    /**
+     * Creates the executor for running checks. Virtual threads are used when the JVM
+     * supports them (Java 21 and later), since the checks mostly wait on the query pool.
+     * Otherwise, a dedicated pool of daemon threads is used, which is bounded by the
+     * in-flight limit.
+     */
+    private static ExecutorService createExecutor() {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            LOGGER.info("Running asynchronous conflict checks on virtual threads.");
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger threadCount = new AtomicInteger();
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "conflict-async-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Endpoint that checks if two researchers have a conflict-of-interest, without
+     * holding a container thread while the graph is queried. If the client disconnects
+     * before the check finishes, the query is cancelled.
+     * @param firstName The full name of the first researcher.
+     * @param secondName The full name of the second researcher.
+     * @param hops The maximum number of co-authorship links between the researchers, as for
+     *  {@link NameCheckResource#checkNames(String, String, int, Integer, Integer, Request)}.
+     * @param sinceYear If given, only papers from this year onwards are counted.
+     * @param untilYear If given, only papers up to and including this year are counted.
+     * @param request The request. As for the synchronous endpoint, a matching `If-None-Match`
+     *  header is answered with `304 Not Modified` straight away.
+     * @param response Resumed with the JSON conflict information once the check finishes.
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public void checkNames(@QueryParam("firstName") String firstName,
+                           @QueryParam("secondName") String secondName,
+                           @QueryParam("hops") @DefaultValue("1") int hops,
+                           @QueryParam("sinceYear") Integer sinceYear,
+                           @QueryParam("untilYear") Integer untilYear,
+                           @Context Request request,
+                           @Suspended AsyncResponse response) {
+        YearRange years;
+        try {
+            NameCheckResource.requireValidHops(hops);
+            years = NameCheckResource.requireValidYears(sinceYear, untilYear);
+            Response notModified = NameCheckResource.notModified(request,
+                    ConflictChecker.resultKey(firstName, secondName, hops, years));
+            if (notModified != null) {
+                response.resume(notModified);
+                return;
+            }
+            NameCheckResource.requireGraph();
+        } catch (BadRequestException | ServiceUnavailableException e) {
+            response.resume(e);
+            return;
+        }
+
+        if (!IN_FLIGHT.tryAcquire()) {
+            response.resume(new RejectedExecutionException("Too many conflict checks are in progress."));
+            return;
+        }
+
+        // The permit is released before the response is resumed, so that a client that sends
+        // its next request straight away is not turned away, or when the check completes in
+        // any other way, including being cancelled before it starts. Whichever comes first
+        // releases it.
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                IN_FLIGHT.release();
+            }
+        };
+        FutureTask<Void> check = new FutureTask<Void>(() -> {
+            Response result = null;
+            RuntimeException failure = null;
+            try {
+                result = NameCheckResource.checkAndTag(firstName, secondName, hops, years);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            release.run();
+            if (failure != null) {
+                response.resume(failure);
+            } else {
+                response.resume(result);
+            }
+        }, null) {
+            @Override
+            protected void done() {
+                release.run();
+            }
+        };
+        try {
+            EXECUTOR.execute(check);
+        } catch (RejectedExecutionException e) {
+            release.run();
+            response.resume(e);
+            return;
+        }
+
+        // Interrupting the check cancels its query.
+        response.register((ConnectionCallback) disconnected -> check.cancel(true));
+    }
+}
@@ -0,0 +1,185 @@
+package com.csci8380.project1;
+
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Every author name in DBLP, along with the authors in a {@link CoauthorshipIndex} who have
+ * it. The names are sorted by their UTF-8 bytes and front coded, so the names that start
+ * with a prefix are next to each other. Names that no author in the index has are left out.
+ * The names can be held on the heap or mapped from a {@link ConflictSnapshot}.
+ */
+public class AuthorNames {
+
+    private final FrontCodedStrings names;
+    /// The authors with each name, as CSR arrays.
+    private final IntBuffer authorOffsets;
+    private final IntBuffer authors;
+
+    /**
+     * @param names Every name, sorted by UTF-8 bytes.
+     * @param authorOffsets The position in `authors` at which the authors of each name start,
+     *  followed by the total number of entries.
+     * @param authors The dense IDs of the authors with each name.
+     */
+    AuthorNames(FrontCodedStrings names, IntBuffer authorOffsets, IntBuffer authors) {
+        this.names = names;
+        this.authorOffsets = authorOffsets;
+        this.authors = authors;
+    }
+
+    /**
+     * Reads every foaf:name literal in an HDT.
+     * @param lookup Lookup for the HDT.
+     * @param index The co-authorship index built from the same HDT.
+     * @return The names.
+     */
+    public static AuthorNames build(HdtLookup lookup, CoauthorshipIndex index) {
+        List<byte[]> names = new ArrayList<>();
+        List<int[]> nameAuthors = new ArrayList<>();
+        for (long nameId : lookup.allNames()) {
+            int[] authors = index.authorIndexes(lookup.peopleWithName(nameId));
+            if (authors.length > 0) {
+                names.add(lookup.name(nameId).getBytes(StandardCharsets.UTF_8));
+                nameAuthors.add(authors);
+            }
+        }
+
+        // Sort the names by their bytes, keeping their authors alongside.
+        Integer[] order = new Integer[names.size()];
+        for (int i = 0; i < order.length; ++i) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> compareBytes(names.get(a), names.get(b)));
+        List<byte[]> sortedNames = new ArrayList<>(order.length);
+        int[] authorOffsets = new int[order.length + 1];
+        for (int i = 0; i < order.length; ++i) {
+            sortedNames.add(names.get(order[i]));
+            authorOffsets[i + 1] = authorOffsets[i] + nameAuthors.get(order[i]).length;
+        }
+        int[] sortedAuthors = new int[authorOffsets[order.length]];
+        for (int i = 0; i < order.length; ++i) {
+            int[] authors = nameAuthors.get(order[i]);
+            System.arraycopy(authors, 0, sortedAuthors, authorOffsets[i], authors.length);
+        }
+        return new AuthorNames(FrontCodedStrings.encode(sortedNames),
+                IntBuffer.wrap(authorOffsets), IntBuffer.wrap(sortedAuthors));
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    /**
+     * @param name The index of a name.
+     * @return The name.
+     */
+    public String get(int name) {
+        return names.get(name);
+    }
+
+    /**
+     * @param name The full name of an author.
+     * @return The index of the name, or -1 if no author has it.
+     */
+    public int find(String name) {
+        return names.find(name);
+    }
+
+    /**
+     * @param prefix The start of a name. The match is case-sensitive.
+     * @return The index of the first name that starts with the prefix, or of the name that
+     *  would come after it if there is none.
+     */
+    public int startOf(String prefix) {
+        return names.lowerBound(prefix.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param prefix The start of a name. The match is case-sensitive.
+     * @return The index after the last name that starts with the prefix.
+     */
+    public int endOf(String prefix) {
+        byte[] bytes = prefix.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length == 0) {
+            return size();
+        }
+        // UTF-8 never has a 0xff byte, so this is the first string after every one with the
+        // prefix.
+        ++bytes[bytes.length - 1];
+        return names.lowerBound(bytes);
+    }
+
+    /**
+     * Decodes every name in order, as in {@link FrontCodedStrings#forEach}.
+     * @param action Receives each name and its index.
+     */
+    public void forEach(ObjIntConsumer<String> action) {
+        names.forEach(action);
+    }
+
+    /**
+     * @param name The index of a name.
+     * @return The dense IDs of the authors with the name.
+     */
+    public int[] authorsOf(int name) {
+        int start = authorOffsets.get(name);
+        int[] nameAuthors = new int[authorOffsets.get(name + 1) - start];
+        for (int i = 0; i < nameAuthors.length; ++i) {
+            nameAuthors[i] = authors.get(start + i);
+        }
+        return nameAuthors;
+    }
+
+    /**
+     * Counts the papers made by everyone with a name.
+     * @param name The index of the name.
+     * @param index The co-authorship index that the names belong to.
+     * @return The total number of papers.
+     */
+    public int paperCount(int name, CoauthorshipIndex index) {
+        int paperCount = 0;
+        for (int i = authorOffsets.get(name); i < authorOffsets.get(name + 1); ++i) {
+            paperCount += index.paperCount(authors.get(i));
+        }
+        return paperCount;
+    }
+
+    FrontCodedStrings getStrings() {
+        return names;
+    }
+
+    IntBuffer getAuthorOffsets() {
+        return authorOffsets;
+    }
+
+    IntBuffer getAuthors() {
+        return authors;
+    }
+
+    /**
+     * @return The amount of memory used by the names, in bytes.
+     */
+    public long sizeInBytes() {
+        return names.sizeInBytes() + 4L * (authorOffsets.limit() + authors.limit());
+    }
+
+    /**
+     * Compares two strings by their unsigned UTF-8 bytes, which is the order that
+     * {@link FrontCodedStrings#find(String)} expects.
+     */
+    private static int compareBytes(byte[] first, byte[] second) {
+        int commonLength = Math.min(first.length, second.length);
+        for (int i = 0; i < commonLength; ++i) {
+            int difference = (first[i] & 0xff) - (second[i] & 0xff);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return first.length - second.length;
+    }
+}
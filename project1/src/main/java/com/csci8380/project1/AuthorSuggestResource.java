@@ -0,0 +1,32 @@
+package com.csci8380.project1;
+
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.core.MediaType;
+
+import java.util.List;
+
+@Path("/authors")
+public class AuthorSuggestResource {
+
+    /**
+     * Endpoint that suggests DBLP author names for a partially typed name.
+     * @param prefix The start of the name.
+     * @param limit The maximum number of names to suggest, up to 50.
+     * @return JSON list of names, with the most prolific first.
+     * @throws ServiceUnavailableException If the DBLP graph is still loading.
+     */
+    @GET
+    @Path("/suggest")
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<AuthorSuggestion> suggest(@QueryParam("prefix") String prefix,
+                                          @QueryParam("limit") @DefaultValue("10") int limit) {
+        NameCheckResource.requireGraph();
+
+        return AuthorSuggester.suggest(prefix, limit);
+    }
+}
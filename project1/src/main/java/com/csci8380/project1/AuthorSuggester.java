@@ -0,0 +1,200 @@
+package com.csci8380.project1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Suggests author names that start with a prefix, ranked by how many papers they have. Only
+ * the names of authors are searched, and each is ranked by the papers of everyone with that
+ * name in the co-authorship index.
+ * <p>
+ * Short prefixes are shared by almost every search, and match so many names that ranking
+ * them on each request would be slow, so their suggestions are ranked once, when the dataset
+ * is loaded. Longer prefixes match few enough names that they are ranked on each request.
+ */
+public final class AuthorSuggester {
+
+    /// Maximum number of suggestions that can be requested at once.
+    public static final int MAX_LIMIT = 50;
+    /// Prefixes up to this many characters have their suggestions ranked when the dataset is
+    /// loaded, as set by the `conflict.suggest.prefixLength` property.
+    private static final int PREFIX_LENGTH = Integer.getInteger("conflict.suggest.prefixLength", 3);
+
+    private final AuthorNames names;
+    /// Number of papers of everyone with each name, indexed like `names`.
+    private final int[] paperCounts;
+    /// The indexes of the most prolific names with each short prefix, best first.
+    private final Map<String, int[]> ranked;
+
+    private AuthorSuggester(AuthorNames names, int[] paperCounts, Map<String, int[]> ranked) {
+        this.names = names;
+        this.paperCounts = paperCounts;
+        this.ranked = ranked;
+    }
+
+    /**
+     * Counts the papers of every name, and ranks the names with each short prefix.
+     * @param names Every author name.
+     * @param index The co-authorship index that the names belong to.
+     * @return The suggester.
+     */
+    public static AuthorSuggester build(AuthorNames names, CoauthorshipIndex index) {
+        int[] paperCounts = new int[names.size()];
+        for (int name = 0; name < paperCounts.length; ++name) {
+            paperCounts[name] = names.paperCount(name, index);
+        }
+
+        // The names are sorted, so those with the same prefix are next to each other. Each
+        // prefix length keeps the best names for the current prefix, and stores them once
+        // the prefix changes.
+        Map<String, int[]> ranked = new HashMap<>();
+        String[] prefixes = new String[PREFIX_LENGTH + 1];
+        List<PriorityQueue<Integer>> best = new ArrayList<>();
+        for (int length = 0; length <= PREFIX_LENGTH; ++length) {
+            best.add(new PriorityQueue<>(MAX_LIMIT + 1, worstFirst(paperCounts)));
+        }
+        names.forEach((name, position) -> {
+            for (int length = 1; length <= Math.min(PREFIX_LENGTH, name.length()); ++length) {
+                String prefix = name.substring(0, length);
+                PriorityQueue<Integer> queue = best.get(length);
+                if (!prefix.equals(prefixes[length])) {
+                    if (prefixes[length] != null) {
+                        ranked.put(prefixes[length], drain(queue));
+                    }
+                    prefixes[length] = prefix;
+                }
+                offer(queue, position, MAX_LIMIT);
+            }
+        });
+        for (int length = 1; length <= PREFIX_LENGTH; ++length) {
+            if (prefixes[length] != null) {
+                ranked.put(prefixes[length], drain(best.get(length)));
+            }
+        }
+        return new AuthorSuggester(names, paperCounts, ranked);
+    }
+
+    /**
+     * Suggests author names for a prefix. The graph must already be loaded.
+     * @param prefix The start of the name, as entered by the user. The match is
+     *  case-sensitive, except that the first letter of each word may also be capitalized.
+     * @param limit The maximum number of names to suggest.
+     * @return The names, with the most prolific first.
+     */
+    public static List<AuthorSuggestion> suggest(String prefix, int limit) {
+        String normalized = ConflictChecker.normalizeName(prefix);
+        limit = Math.max(0, Math.min(limit, MAX_LIMIT));
+        if (normalized.isEmpty() || limit == 0) {
+            return Collections.emptyList();
+        }
+
+        Dataset dataset = KnowledgeGraph.acquireDataset();
+        try {
+            return dataset.getSuggester().find(normalized, limit);
+        } finally {
+            dataset.release();
+        }
+    }
+
+    /**
+     * Finds the most prolific names that start with a prefix, or with the prefix with the
+     * first letter of each word capitalized.
+     * @param prefix The normalized prefix.
+     * @param limit The maximum number of names to return, up to {@link #MAX_LIMIT}.
+     * @return The names, with the most prolific first.
+     */
+    public List<AuthorSuggestion> find(String prefix, int limit) {
+        PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1, worstFirst(paperCounts));
+        String capitalized = capitalizeWords(prefix);
+        for (String variant : capitalized.equals(prefix)
+                ? Collections.singletonList(prefix) : Arrays.asList(prefix, capitalized)) {
+            if (variant.length() <= PREFIX_LENGTH) {
+                int[] top = ranked.get(variant);
+                if (top != null) {
+                    for (int i = 0; i < Math.min(limit, top.length); ++i) {
+                        offer(best, top[i], limit);
+                    }
+                }
+            } else {
+                int end = names.endOf(variant);
+                for (int name = names.startOf(variant); name < end; ++name) {
+                    offer(best, name, limit);
+                }
+            }
+        }
+
+        int[] order = drain(best);
+        List<AuthorSuggestion> suggestions = new ArrayList<>(order.length);
+        for (int name : order) {
+            AuthorSuggestion suggestion = new AuthorSuggestion();
+            suggestion.setName(names.get(name));
+            suggestion.setPaperCount(paperCounts[name]);
+            suggestions.add(suggestion);
+        }
+        return suggestions;
+    }
+
+    private static void offer(PriorityQueue<Integer> best, int name, int limit) {
+        // Most names rank below every one kept so far, so skip them without touching the queue.
+        if (best.size() == limit && best.comparator().compare(name, best.peek()) < 0) {
+            return;
+        }
+        best.add(name);
+        if (best.size() > limit) {
+            best.poll();
+        }
+    }
+
+    /**
+     * Orders names from the least prolific, so that the head of a queue is the next one to
+     * drop. Names with the same number of papers are ranked alphabetically.
+     */
+    private static Comparator<Integer> worstFirst(int[] paperCounts) {
+        return (first, second) -> paperCounts[first] != paperCounts[second]
+                ? Integer.compare(paperCounts[first], paperCounts[second])
+                : Integer.compare(second, first);
+    }
+
+    /**
+     * Empties a queue from {@link #worstFirst}.
+     * @return The names in it, with the most prolific first.
+     */
+    private static int[] drain(PriorityQueue<Integer> queue) {
+        int[] names = new int[queue.size()];
+        for (int i = names.length - 1; i >= 0; --i) {
+            names[i] = queue.poll();
+        }
+        return names;
+    }
+
+    /**
+     * @return The text with the first letter of each word in upper case.
+     */
+    private static String capitalizeWords(String text) {
+        StringBuilder capitalized = new StringBuilder(text.length());
+        boolean wordStart = true;
+        for (int i = 0; i < text.length(); ++i) {
+            char c = text.charAt(i);
+            capitalized.append(wordStart ? Character.toUpperCase(c) : c);
+            wordStart = c == ' ' || c == '-';
+        }
+        return capitalized.toString();
+    }
+
+    /**
+     * @return The approximate amount of memory used by the suggester, apart from the names.
+     */
+    public long sizeInBytes() {
+        long size = 4L * paperCounts.length;
+        for (Map.Entry<String, int[]> entry : ranked.entrySet()) {
+            size += 2L * entry.getKey().length() + 4L * entry.getValue().length + 64;
+        }
+        return size;
+    }
+}
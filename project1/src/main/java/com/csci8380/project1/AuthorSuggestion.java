@@ -0,0 +1,27 @@
+package com.csci8380.project1;
+
+/**
+ * Model representing an author name suggested for a prefix.
+ */
+public class AuthorSuggestion {
+    /// Full name of the author, as it appears in DBLP.
+    private String name;
+    /// Number of papers made by everyone with this name.
+    private int paperCount;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getPaperCount() {
+        return paperCount;
+    }
+
+    public void setPaperCount(int paperCount) {
+        this.paperCount = paperCount;
+    }
+}
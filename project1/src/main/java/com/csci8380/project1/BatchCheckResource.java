@@ -0,0 +1,40 @@
+package com.csci8380.project1;
+
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.core.MediaType;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+@Path("/check_names/batch")
+public class BatchCheckResource {
+
+    /**
+     * Endpoint that checks many pairs of researchers for conflicts-of-interest at once.
+     * @param pairs The pairs of researchers to check.
+     * @return The result for each pair, in the same order as the request.
+     * @throws BadRequestException If the body is not a list of pairs, or has more than
+     *  {@link BatchChecker#MAX_PAIRS} of them.
+     * @throws ServiceUnavailableException If the DBLP graph is still loading.
+     * @throws RejectedExecutionException If the server is too busy to accept the batch.
+     */
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<ConflictCheckResult> checkBatch(List<NamePair> pairs) throws InterruptedException {
+        if (pairs == null) {
+            throw new BadRequestException("Expected a JSON array of name pairs.");
+        }
+        if (pairs.size() > BatchChecker.MAX_PAIRS) {
+            throw new BadRequestException("A batch may contain at most " + BatchChecker.MAX_PAIRS + " pairs.");
+        }
+        NameCheckResource.requireGraph();
+
+        return BatchChecker.checkAll(pairs);
+    }
+}
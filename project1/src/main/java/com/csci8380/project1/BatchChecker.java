@@ -0,0 +1,125 @@
+package com.csci8380.project1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs batches of conflict checks in parallel on a shared, bounded thread pool.
+ * Each check waits for its queries on the {@link KnowledgeGraph} query pool, so the threads
+ * of this pool cap how much of the query pool all batches together can take. By default
+ * that is half of it, which leaves the rest for interactive checks. The pool is sized by
+ * the `conflict.batch.threads` property, and each batch uses at most
+ * `conflict.batch.parallelism` of its threads, so that a single large batch cannot hold up
+ * the others.
+ */
+public final class BatchChecker {
+
+    private static final int NUM_CORES = Runtime.getRuntime().availableProcessors();
+
+    /// Maximum number of pairs allowed in a single batch.
+    public static final int MAX_PAIRS = Integer.getInteger("conflict.batch.maxPairs", 1000);
+    /// Maximum number of threads that a single batch may use at once.
+    private static final int PARALLELISM = Integer.getInteger("conflict.batch.parallelism",
+            Math.max(1, NUM_CORES / 2));
+
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    /// Pool shared by all batches. The queue is bounded so that overload is reported
+    /// instead of piling up work.
+    private static final ThreadPoolExecutor POOL;
+    static {
+        int numThreads = Integer.getInteger("conflict.batch.threads", Math.max(1, KnowledgeGraph.getQueryThreads() / 2));
+        POOL = new ThreadPoolExecutor(numThreads, numThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Integer.getInteger("conflict.batch.queueSize", 64)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "conflict-batch-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        POOL.allowCoreThreadTimeOut(true);
+    }
+
+    private BatchChecker() {}
+
+    /**
+     * Checks a batch of pairs for conflicts-of-interest. The graph must already be loaded.
+     * @param pairs The pairs to check. There must be no more than {@link #MAX_PAIRS}.
+     * @return The result for each pair, in the same order as the input. A pair that timed
+     *  out or was turned away by the query pool has an error instead.
+     * @throws RejectedExecutionException If the pool is too busy to accept the batch.
+     * @throws InterruptedException If interrupted while waiting for the batch to finish.
+     */
+    public static List<ConflictCheckResult> checkAll(List<NamePair> pairs) throws InterruptedException {
+        return checkAll(pairs, pair -> ConflictChecker.check(pair.getFirstName(), pair.getSecondName()));
+    }
+
+    /**
+     * Checks a batch of pairs with the given check.
+     * @param pairs The pairs to check.
+     * @param checker Checks a single pair.
+     * @return The result for each pair, in the same order as the input.
+     * @throws RejectedExecutionException If the pool is too busy to accept the batch.
+     * @throws InterruptedException If interrupted while waiting for the batch to finish.
+     */
+    static List<ConflictCheckResult> checkAll(List<NamePair> pairs,
+                                              Function<NamePair, ConflictCheckResult> checker)
+            throws InterruptedException {
+        ConflictCheckResult[] results = new ConflictCheckResult[pairs.size()];
+        AtomicInteger nextPair = new AtomicInteger();
+        Runnable worker = () -> {
+            int i;
+            while ((i = nextPair.getAndIncrement()) < results.length) {
+                results[i] = check(pairs.get(i), checker);
+            }
+        };
+
+        int numWorkers = Math.min(PARALLELISM, pairs.size());
+        List<Future<?>> workers = new ArrayList<>(numWorkers);
+        try {
+            for (int i = 0; i < numWorkers; ++i) {
+                workers.add(POOL.submit(worker));
+            }
+            for (Future<?> future : workers) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new RuntimeException(cause);
+        } finally {
+            // Stop any remaining workers if something went wrong.
+            for (Future<?> future : workers) {
+                future.cancel(true);
+            }
+        }
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Checks one pair of a batch. The failures that only affect this pair are reported in
+     * its result, so that the rest of the batch still gets answers.
+     */
+    private static ConflictCheckResult check(NamePair pair, Function<NamePair, ConflictCheckResult> checker) {
+        try {
+            return checker.apply(pair);
+        } catch (QueryTimeoutException e) {
+            return failed(new ErrorResult("query_timeout", e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return failed(new ErrorResult("overloaded", "Too many queries are in progress."));
+        }
+    }
+
+    private static ConflictCheckResult failed(ErrorResult error) {
+        ConflictCheckResult result = new ConflictCheckResult();
+        result.setError(error);
+        return result;
+    }
+}
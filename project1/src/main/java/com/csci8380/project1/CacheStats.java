@@ -0,0 +1,55 @@
+package com.csci8380.project1;
+
+/**
+ * Model representing the statistics of a cache.
+ */
+public class CacheStats {
+    /// Number of entries currently in the cache.
+    private int size;
+    /// Number of lookups that found a valid entry.
+    private long hits;
+    /// Number of lookups that did not.
+    private long misses;
+    /// Number of entries removed because the cache was full or they expired.
+    private long evictions;
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public void setEvictions(long evictions) {
+        this.evictions = evictions;
+    }
+
+    /**
+     * @return The fraction of lookups that were hits.
+     */
+    public double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,324 @@
+package com.csci8380.project1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Logger;
+
+/**
+ * Searches the co-authorship graph for chains of collaborators between two researchers. The
+ * search runs breadth-first from both ends at once over the CSR arrays of a
+ * {@link CoauthorshipIndex}, always expanding the side with the smaller frontier, and stops
+ * as soon as the two sides meet.
+ */
+public class CoauthorSearch {
+
+    private static final Logger LOGGER = Logger.getLogger(CoauthorSearch.class.getName());
+
+    /**
+     * Authors visited by one side of a search, along with the author and paper that each was
+     * reached from. This is an open-addressing hash table whose slots are stamped with the
+     * search that filled them, so that emptying it only changes the stamp. Its size depends
+     * on how many authors a search visits, rather than on how many the index has.
+     */
+    private static final class Visited {
+        private int[] stamps = new int[INITIAL_CAPACITY];
+        private int[] authors = new int[INITIAL_CAPACITY];
+        private int[] parentAuthors = new int[INITIAL_CAPACITY];
+        private int[] parentPapers = new int[INITIAL_CAPACITY];
+        /// Slots stamped with this hold an author visited by the current search.
+        private int stamp;
+        private int size;
+
+        /**
+         * Forgets every author, ready for a new search.
+         */
+        void clear() {
+            size = 0;
+            if (++stamp == Integer.MAX_VALUE) {
+                Arrays.fill(stamps, 0);
+                stamp = 1;
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean contains(int author) {
+            return stamps[slot(author)] == stamp;
+        }
+
+        /**
+         * Marks an author as visited, unless it already is.
+         * @return False if the author had already been visited.
+         */
+        boolean add(int author, int parentAuthor, int parentPaper) {
+            int slot = slot(author);
+            if (stamps[slot] == stamp) {
+                return false;
+            }
+            stamps[slot] = stamp;
+            authors[slot] = author;
+            parentAuthors[slot] = parentAuthor;
+            parentPapers[slot] = parentPaper;
+            if (++size * 2 > stamps.length) {
+                grow();
+            }
+            return true;
+        }
+
+        /**
+         * @return The author that a visited author was reached from, or -1 if it is a start.
+         */
+        int parentAuthor(int author) {
+            return parentAuthors[slot(author)];
+        }
+
+        /**
+         * @return The paper that links a visited author to its parent.
+         */
+        int parentPaper(int author) {
+            return parentPapers[slot(author)];
+        }
+
+        /**
+         * @return The slot that holds an author, or the empty slot where it would go.
+         */
+        private int slot(int author) {
+            int mask = stamps.length - 1;
+            int hash = author * 0x9E3779B9;
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            while (stamps[slot] == stamp && authors[slot] != author) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            int[] oldStamps = stamps;
+            int[] oldAuthors = authors;
+            int[] oldParentAuthors = parentAuthors;
+            int[] oldParentPapers = parentPapers;
+            stamps = new int[oldStamps.length * 2];
+            authors = new int[stamps.length];
+            parentAuthors = new int[stamps.length];
+            parentPapers = new int[stamps.length];
+            for (int i = 0; i < oldStamps.length; ++i) {
+                if (oldStamps[i] == stamp) {
+                    int slot = slot(oldAuthors[i]);
+                    stamps[slot] = stamp;
+                    authors[slot] = oldAuthors[i];
+                    parentAuthors[slot] = oldParentAuthors[i];
+                    parentPapers[slot] = oldParentPapers[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * State of one side of a search.
+     */
+    private static final class Side {
+        final Visited visited = new Visited();
+        int[] frontier = new int[64];
+        int frontierSize;
+    }
+
+    /**
+     * Reusable state for one search at a time.
+     */
+    private static final class Workspace {
+        final Side forward = new Side();
+        final Side backward = new Side();
+        int[] next = new int[64];
+        int[] meetings = new int[16];
+    }
+
+    /// Initial number of slots in each visited set. This must be a power of two.
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /// Workspaces that are not in use. Each search takes one and puts it back when it is done,
+    /// so there are only ever as many as there have been searches at once, however many
+    /// threads have run them. They do not refer to any index, so that the index of a dataset
+    /// that has been swapped out is not kept alive.
+    private static final ConcurrentLinkedQueue<Workspace> WORKSPACES = new ConcurrentLinkedQueue<>();
+
+    private final CoauthorshipIndex index;
+    /// Maximum number of authors that each side of a search may visit.
+    private final int maxVisited;
+
+    /**
+     * @param index The index to search.
+     * @param maxVisited The maximum number of authors that each side of a search may visit.
+     *  This stops prolific authors from making a search cover most of the graph.
+     */
+    public CoauthorSearch(CoauthorshipIndex index, int maxVisited) {
+        this.index = index;
+        this.maxVisited = maxVisited;
+    }
+
+    /**
+     * Finds the shortest chains of co-authors between two groups of authors.
+     * @param sources The dense IDs of the authors to start from.
+     * @param targets The dense IDs of the authors to reach.
+     * @param maxHops The maximum number of papers in a chain.
+     * @param maxChains The maximum number of chains to return. Each one passes through a
+     *  different author.
+     * @param years The years to follow papers from. Co-authors of papers from other years are
+     *  not considered to be linked.
+     * @return The chains, each alternating between dense author and paper IDs, and starting
+     *  with a source and ending with a target. This is empty if there is no chain within
+     *  `maxHops`, or none was found before the search reached the limit on visited authors.
+     * @throws CancellationException If the thread was interrupted during the search.
+     */
+    public List<int[]> shortestChains(int[] sources, int[] targets, int maxHops, int maxChains, YearRange years) {
+        Workspace workspace = WORKSPACES.poll();
+        if (workspace == null) {
+            workspace = new Workspace();
+        }
+        try {
+            return shortestChains(workspace, sources, targets, maxHops, maxChains, years);
+        } finally {
+            WORKSPACES.offer(workspace);
+        }
+    }
+
+    private List<int[]> shortestChains(Workspace workspace, int[] sources, int[] targets, int maxHops,
+                                       int maxChains, YearRange years) {
+        int firstPaper = index.firstPaperIn(years);
+        int endPaper = index.endPaperIn(years);
+        Side forward = workspace.forward;
+        Side backward = workspace.backward;
+        int numMeetings = 0;
+
+        start(forward, sources);
+        start(backward, targets);
+        for (int target : targets) {
+            if (forward.visited.contains(target) && numMeetings < workspace.meetings.length) {
+                // The same author is at both ends.
+                workspace.meetings[numMeetings++] = target;
+            }
+        }
+
+        int hops = 0;
+        while (numMeetings == 0 && hops < maxHops && forward.frontierSize > 0 && backward.frontierSize > 0) {
+            Side expanding = forward.frontierSize <= backward.frontierSize ? forward : backward;
+            Side other = expanding == forward ? backward : forward;
+            numMeetings = expand(workspace, expanding, other, firstPaper, endPaper);
+            ++hops;
+
+            if (numMeetings == 0 && expanding.visited.size() >= maxVisited) {
+                LOGGER.fine("Stopped co-author search after visiting " + expanding.visited.size() + " authors.");
+                break;
+            }
+        }
+
+        List<int[]> chains = new ArrayList<>();
+        for (int i = 0; i < numMeetings && chains.size() < maxChains; ++i) {
+            chains.add(chain(forward, backward, workspace.meetings[i]));
+        }
+        return chains;
+    }
+
+    private static void start(Side side, int[] authors) {
+        side.visited.clear();
+        side.frontierSize = 0;
+        for (int author : authors) {
+            if (!side.visited.add(author, -1, -1)) {
+                continue;
+            }
+            if (side.frontierSize == side.frontier.length) {
+                side.frontier = Arrays.copyOf(side.frontier, side.frontierSize * 2);
+            }
+            side.frontier[side.frontierSize++] = author;
+        }
+    }
+
+    /**
+     * Expands one side of the search by a single hop, following the papers with dense IDs
+     * from `firstPaper` (inclusive) to `endPaper` (exclusive).
+     * @return The number of authors that were reached by both sides.
+     */
+    private int expand(Workspace workspace, Side side, Side other, int firstPaper, int endPaper) {
+        int nextSize = 0;
+        int numMeetings = 0;
+        long numLinks = 0;
+
+        for (int i = 0; i < side.frontierSize && side.visited.size() < maxVisited; ++i) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Co-author search was interrupted.");
+            }
+
+            int author = side.frontier[i];
+            int papersEnd = index.papersEnd(author);
+            for (int paperPos = index.papersFrom(author, firstPaper); paperPos < papersEnd; ++paperPos) {
+                int paper = index.paperAt(paperPos);
+                if (paper >= endPaper) {
+                    // Papers are in order of year, so the rest are all too recent.
+                    break;
+                }
+                numLinks += index.authorsEnd(paper) - index.authorsStart(paper);
+                for (int authorPos = index.authorsStart(paper); authorPos < index.authorsEnd(paper); ++authorPos) {
+                    int coauthor = index.authorAt(authorPos);
+                    if (!side.visited.add(coauthor, author, paper)) {
+                        continue;
+                    }
+
+                    if (other.visited.contains(coauthor)) {
+                        if (numMeetings == workspace.meetings.length) {
+                            workspace.meetings = Arrays.copyOf(workspace.meetings, numMeetings * 2);
+                        }
+                        workspace.meetings[numMeetings++] = coauthor;
+                    }
+                    if (nextSize == workspace.next.length) {
+                        workspace.next = Arrays.copyOf(workspace.next, nextSize * 2);
+                    }
+                    workspace.next[nextSize++] = coauthor;
+                }
+            }
+        }
+
+        Metrics.rowsScanned(numLinks);
+
+        // The old frontier becomes the buffer for the next expansion.
+        int[] previous = side.frontier;
+        side.frontier = workspace.next;
+        side.frontierSize = nextSize;
+        workspace.next = previous;
+        return numMeetings;
+    }
+
+    /**
+     * Follows the parents from an author reached by both sides back to each end.
+     * @return The chain, alternating between author and paper IDs.
+     */
+    private static int[] chain(Side forward, Side backward, int meeting) {
+        Visited forwardVisited = forward.visited;
+        Visited backwardVisited = backward.visited;
+        int forwardHops = 0;
+        for (int author = meeting; forwardVisited.parentAuthor(author) >= 0; author = forwardVisited.parentAuthor(author)) {
+            ++forwardHops;
+        }
+        int backwardHops = 0;
+        for (int author = meeting; backwardVisited.parentAuthor(author) >= 0; author = backwardVisited.parentAuthor(author)) {
+            ++backwardHops;
+        }
+
+        int[] chain = new int[2 * (forwardHops + backwardHops) + 1];
+        int position = 2 * forwardHops;
+        chain[position] = meeting;
+        for (int author = meeting; forwardVisited.parentAuthor(author) >= 0; author = forwardVisited.parentAuthor(author)) {
+            chain[--position] = forwardVisited.parentPaper(author);
+            chain[--position] = forwardVisited.parentAuthor(author);
+        }
+        position = 2 * forwardHops;
+        for (int author = meeting; backwardVisited.parentAuthor(author) >= 0; author = backwardVisited.parentAuthor(author)) {
+            chain[++position] = backwardVisited.parentPaper(author);
+            chain[++position] = backwardVisited.parentAuthor(author);
+        }
+        return chain;
+    }
+}
@@ -0,0 +1,525 @@
+package com.csci8380.project1;
+
+import org.rdfhdt.hdt.listener.ProgressListener;
+import org.rdfhdt.hdt.triples.IteratorTripleID;
+import org.rdfhdt.hdt.triples.TripleID;
+
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+/**
+ * Compact in-memory index of who authored which paper. Papers and authors are given dense
+ * integer IDs, and both directions of the foaf:maker relation are stored as CSR (compressed
+ * sparse row) arrays: the papers of author `a` are
+ * `authorPapers[authorPaperOffsets[a]]` through `authorPapers[authorPaperOffsets[a + 1] - 1]`,
+ * in ascending order, and likewise for the authors of each paper. Papers are numbered in
+ * order of publication year, so the papers of an author from a range of years are a
+ * contiguous slice of their list.
+ * <p>
+ * The arrays are held in buffers, so that an index can either be built on the heap or
+ * mapped straight from a {@link ConflictSnapshot}. An index from a snapshot also holds the
+ * titles of the papers and a table of author names, so that conflicts can be found without
+ * going through the HDT at all.
+ */
+public class CoauthorshipIndex {
+
+    /// HDT ID of each paper, indexed by dense paper ID.
+    private final LongBuffer paperIds;
+    /// Publication year of each paper, indexed by dense paper ID, or 0 if it is not known.
+    /// Sorted in ascending order.
+    private final IntBuffer paperYears;
+    /// HDT ID of each author, indexed by dense author ID. Sorted in ascending order.
+    private final LongBuffer authorIds;
+
+    private final IntBuffer paperAuthorOffsets;
+    private final IntBuffer paperAuthors;
+    private final IntBuffer authorPaperOffsets;
+    private final IntBuffer authorPapers;
+
+    /// Title of each paper, indexed by dense paper ID, or null if the index does not hold
+    /// titles. Papers without a title have an empty one.
+    private FrontCodedStrings titles;
+    /// Every author name, or null if the index does not hold names.
+    private AuthorNames names;
+
+    CoauthorshipIndex(LongBuffer paperIds, IntBuffer paperYears, LongBuffer authorIds,
+                      IntBuffer paperAuthorOffsets, IntBuffer paperAuthors,
+                      IntBuffer authorPaperOffsets, IntBuffer authorPapers) {
+        this.paperIds = paperIds;
+        this.paperYears = paperYears;
+        this.authorIds = authorIds;
+        this.paperAuthorOffsets = paperAuthorOffsets;
+        this.paperAuthors = paperAuthors;
+        this.authorPaperOffsets = authorPaperOffsets;
+        this.authorPapers = authorPapers;
+    }
+
+    /**
+     * Adds the titles of the papers and the names of the authors to the index.
+     * @param titles The title of each paper, indexed by dense paper ID.
+     * @param names Every author name.
+     */
+    void setDetails(FrontCodedStrings titles, AuthorNames names) {
+        this.titles = titles;
+        this.names = names;
+    }
+
+    /**
+     * Builds the index from every foaf:maker triple in an HDT.
+     * @param lookup Lookup for the HDT to index.
+     * @param listener Receives progress updates as the index is built.
+     * @return The index that it built.
+     */
+    public static CoauthorshipIndex build(HdtLookup lookup, ProgressListener listener) {
+        listener.notifyProgress(0, "Reading authorship triples");
+
+        long[] rawPapers = new long[1024];
+        long[] rawAuthors = new long[1024];
+        int numTriples = 0;
+        if (lookup.getMakerPredicate() > 0) {
+            IteratorTripleID made = lookup.getTriples().search(new TripleID(0, lookup.getMakerPredicate(), 0));
+            while (made.hasNext()) {
+                TripleID triple = made.next();
+                if (numTriples == rawPapers.length) {
+                    rawPapers = Arrays.copyOf(rawPapers, numTriples * 2);
+                    rawAuthors = Arrays.copyOf(rawAuthors, numTriples * 2);
+                }
+                rawPapers[numTriples] = triple.getSubject();
+                rawAuthors[numTriples] = triple.getObject();
+                ++numTriples;
+            }
+        }
+
+        listener.notifyProgress(30, "Reading publication years");
+        long[] sortedPaperIds = HdtLookup.sortedDistinct(Arrays.copyOf(rawPapers, numTriples), numTriples);
+        long[] authorIds = HdtLookup.sortedDistinct(Arrays.copyOf(rawAuthors, numTriples), numTriples);
+
+        // Number the papers by year, and then by HDT ID. Each key packs the year above the
+        // position of the paper in the sorted list, so that sorting the keys gives the order.
+        long[] yearOrder = new long[sortedPaperIds.length];
+        for (int i = 0; i < sortedPaperIds.length; ++i) {
+            yearOrder[i] = ((long) lookup.yearOf(sortedPaperIds[i]) << 32) | i;
+        }
+        Arrays.sort(yearOrder);
+        long[] paperIds = new long[sortedPaperIds.length];
+        int[] paperYears = new int[sortedPaperIds.length];
+        int[] denseIds = new int[sortedPaperIds.length];
+        for (int paper = 0; paper < yearOrder.length; ++paper) {
+            int position = (int) yearOrder[paper];
+            paperIds[paper] = sortedPaperIds[position];
+            paperYears[paper] = (int) (yearOrder[paper] >>> 32);
+            denseIds[position] = paper;
+        }
+
+        listener.notifyProgress(50, "Assigning dense IDs");
+        int[] papers = new int[numTriples];
+        int[] authors = new int[numTriples];
+        for (int i = 0; i < numTriples; ++i) {
+            papers[i] = denseIds[Arrays.binarySearch(sortedPaperIds, rawPapers[i])];
+            authors[i] = Arrays.binarySearch(authorIds, rawAuthors[i]);
+        }
+
+        listener.notifyProgress(70, "Building CSR arrays");
+        int[] paperAuthorOffsets = offsets(papers, paperIds.length);
+        int[] paperAuthors = targets(papers, authors, paperAuthorOffsets);
+        int[] authorPaperOffsets = offsets(authors, authorIds.length);
+        int[] authorPapers = targets(authors, papers, authorPaperOffsets);
+
+        listener.notifyProgress(100, "Built co-authorship index");
+        return new CoauthorshipIndex(LongBuffer.wrap(paperIds), IntBuffer.wrap(paperYears), LongBuffer.wrap(authorIds),
+                IntBuffer.wrap(paperAuthorOffsets), IntBuffer.wrap(paperAuthors),
+                IntBuffer.wrap(authorPaperOffsets), IntBuffer.wrap(authorPapers));
+    }
+
+    /**
+     * Computes CSR offsets from the source of each edge.
+     * @param sources The source of each edge.
+     * @param numSources The total number of sources.
+     * @return The offset at which the edges of each source start, followed by the total
+     *  number of edges.
+     */
+    private static int[] offsets(int[] sources, int numSources) {
+        int[] offsets = new int[numSources + 1];
+        for (int source : sources) {
+            ++offsets[source + 1];
+        }
+        for (int i = 0; i < numSources; ++i) {
+            offsets[i + 1] += offsets[i];
+        }
+        return offsets;
+    }
+
+    /**
+     * Computes CSR targets, sorted within each source.
+     * @param sources The source of each edge.
+     * @param targets The target of each edge.
+     * @param offsets The offsets computed by {@link #offsets(int[], int)}.
+     * @return The targets, grouped by source.
+     */
+    private static int[] targets(int[] sources, int[] targets, int[] offsets) {
+        int[] grouped = new int[targets.length];
+        int[] next = Arrays.copyOf(offsets, offsets.length - 1);
+        for (int i = 0; i < sources.length; ++i) {
+            grouped[next[sources[i]]++] = targets[i];
+        }
+        for (int source = 0; source < offsets.length - 1; ++source) {
+            Arrays.sort(grouped, offsets[source], offsets[source + 1]);
+        }
+        return grouped;
+    }
+
+    public int getNumPapers() {
+        return paperIds.limit();
+    }
+
+    public int getNumAuthors() {
+        return authorIds.limit();
+    }
+
+    /**
+     * Finds the dense ID of an author.
+     * @param personId The HDT ID of the person.
+     * @return The dense author ID, or -1 if the person did not author any paper.
+     */
+    public int authorIndex(long personId) {
+        int low = 0;
+        int high = authorIds.limit() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long id = authorIds.get(middle);
+            if (id < personId) {
+                low = middle + 1;
+            } else if (id > personId) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the dense IDs of several people.
+     * @param people The HDT IDs of the people.
+     * @return The dense IDs of those people who authored any paper.
+     */
+    public int[] authorIndexes(long[] people) {
+        int[] authors = new int[people.length];
+        int numAuthors = 0;
+        for (long person : people) {
+            int author = authorIndex(person);
+            if (author >= 0) {
+                authors[numAuthors++] = author;
+            }
+        }
+        return Arrays.copyOf(authors, numAuthors);
+    }
+
+    /**
+     * @return True if the index holds the titles of the papers and the names of the authors.
+     */
+    public boolean hasDetails() {
+        return titles != null;
+    }
+
+    /**
+     * Finds all the authors with a particular name. The index must hold names.
+     * @param name The full name of the author.
+     * @return The dense IDs of the authors.
+     */
+    public int[] authorsNamed(String name) {
+        int index = names.find(name);
+        return index >= 0 ? names.authorsOf(index) : new int[0];
+    }
+
+    /**
+     * Adds the names of the authors to an index that does not hold titles.
+     * @param names Every author name.
+     */
+    void setNames(AuthorNames names) {
+        this.names = names;
+    }
+
+    /**
+     * @return Every author name, or null if the index does not hold names.
+     */
+    public AuthorNames getNames() {
+        return names;
+    }
+
+    /**
+     * Looks up the title and year of a paper. The index must hold titles.
+     * @param paper The dense ID of the paper.
+     * @return The paper, or null if it is missing a title or a year.
+     */
+    public Paper paper(int paper) {
+        String title = titles.get(paper);
+        int year = paperYears.get(paper);
+        if (title.isEmpty() || year == 0) {
+            // Consistent with HdtLookup, which skips papers without both.
+            return null;
+        }
+
+        Paper details = new Paper();
+        details.setName(title);
+        details.setYear(year);
+        return details;
+    }
+
+    /**
+     * Finds all the papers made by any of several authors.
+     * @param authors The dense IDs of the authors.
+     * @return The sorted, distinct dense IDs of their papers.
+     */
+    public int[] papersOf(int[] authors) {
+        int numPapers = 0;
+        for (int author : authors) {
+            numPapers += paperCount(author);
+        }
+        int[] papers = new int[numPapers];
+        numPapers = 0;
+        for (int author : authors) {
+            int end = papersEnd(author);
+            for (int position = papersStart(author); position < end; ++position) {
+                papers[numPapers++] = authorPapers.get(position);
+            }
+        }
+        if (authors.length == 1) {
+            return papers;
+        }
+        return Arrays.stream(papers).sorted().distinct().toArray();
+    }
+
+    /**
+     * @param author The dense ID of an author.
+     * @return The HDT ID of the author.
+     */
+    public long authorId(int author) {
+        return authorIds.get(author);
+    }
+
+    /**
+     * @param paper The dense ID of a paper.
+     * @return The HDT ID of the paper.
+     */
+    public long paperId(int paper) {
+        return paperIds.get(paper);
+    }
+
+    /**
+     * @param paper The dense ID of a paper.
+     * @return The year the paper was published, or 0 if it is not known.
+     */
+    public int paperYear(int paper) {
+        return paperYears.get(paper);
+    }
+
+    /**
+     * Finds the first paper from a range of years. Since papers are numbered by year, the
+     * papers in the range have dense IDs from {@code firstPaperIn(years)} (inclusive) to
+     * {@link #endPaperIn(YearRange)} (exclusive).
+     * @param years The range of years.
+     * @return The dense ID of the first paper.
+     */
+    public int firstPaperIn(YearRange years) {
+        return lowerBound(paperYears, 0, paperYears.limit(), years.getSince());
+    }
+
+    /**
+     * @param years The range of years.
+     * @return The dense ID after the last paper in the range.
+     * @see #firstPaperIn(YearRange)
+     */
+    public int endPaperIn(YearRange years) {
+        if (years.getUntil() == Integer.MAX_VALUE) {
+            return paperYears.limit();
+        }
+        return lowerBound(paperYears, 0, paperYears.limit(), years.getUntil() + 1);
+    }
+
+    /**
+     * Finds the first position in a sorted slice of a buffer whose value is not less than
+     * a key.
+     * @return The position, or `end` if every value is less than the key.
+     */
+    static int lowerBound(IntBuffer values, int start, int end, int key) {
+        while (start < end) {
+            int middle = (start + end) >>> 1;
+            if (values.get(middle) < key) {
+                start = middle + 1;
+            } else {
+                end = middle;
+            }
+        }
+        return start;
+    }
+
+    /**
+     * @param author The dense ID of an author.
+     * @return The number of papers the author made.
+     */
+    public int paperCount(int author) {
+        return authorPaperOffsets.get(author + 1) - authorPaperOffsets.get(author);
+    }
+
+    /**
+     * The papers of an author are at positions {@code papersStart(author)} (inclusive) to
+     * {@code papersEnd(author)} (exclusive), and can be read with {@link #paperAt(int)}.
+     * @param author The dense ID of an author.
+     * @return The position of the first paper of the author.
+     */
+    public int papersStart(int author) {
+        return authorPaperOffsets.get(author);
+    }
+
+    /**
+     * @param author The dense ID of an author.
+     * @return The position after the last paper of the author.
+     */
+    public int papersEnd(int author) {
+        return authorPaperOffsets.get(author + 1);
+    }
+
+    /**
+     * @param author The dense ID of an author.
+     * @param paper The dense ID of a paper.
+     * @return The position of the first paper of the author whose dense ID is not less than
+     *  `paper`.
+     */
+    public int papersFrom(int author, int paper) {
+        return lowerBound(authorPapers, papersStart(author), papersEnd(author), paper);
+    }
+
+    /**
+     * @param position A position between {@link #papersStart(int)} and {@link #papersEnd(int)}.
+     * @return The dense ID of the paper at that position.
+     */
+    public int paperAt(int position) {
+        return authorPapers.get(position);
+    }
+
+    /**
+     * The authors of a paper are at positions {@code authorsStart(paper)} (inclusive) to
+     * {@code authorsEnd(paper)} (exclusive), and can be read with {@link #authorAt(int)}.
+     * @param paper The dense ID of a paper.
+     * @return The position of the first author of the paper.
+     */
+    public int authorsStart(int paper) {
+        return paperAuthorOffsets.get(paper);
+    }
+
+    /**
+     * @param paper The dense ID of a paper.
+     * @return The position after the last author of the paper.
+     */
+    public int authorsEnd(int paper) {
+        return paperAuthorOffsets.get(paper + 1);
+    }
+
+    /**
+     * @param position A position between {@link #authorsStart(int)} and {@link #authorsEnd(int)}.
+     * @return The dense ID of the author at that position.
+     */
+    public int authorAt(int position) {
+        return paperAuthors.get(position);
+    }
+
+    /**
+     * Finds the papers that two authors share by intersecting their sorted paper lists.
+     * @param firstAuthor The dense ID of the first author.
+     * @param secondAuthor The dense ID of the second author.
+     * @param shared Receives the dense IDs of the shared papers, in ascending order. It must
+     *  have room for the paper count of either author.
+     * @return The number of shared papers.
+     */
+    public int sharedPapers(int firstAuthor, int secondAuthor, int[] shared) {
+        return sharedPapers(firstAuthor, secondAuthor, YearRange.ALL, shared);
+    }
+
+    /**
+     * Finds the papers from a range of years that two authors share. Only the slices of
+     * their paper lists that fall in the range are intersected.
+     * @param firstAuthor The dense ID of the first author.
+     * @param secondAuthor The dense ID of the second author.
+     * @param years The years to include papers from.
+     * @param shared Receives the dense IDs of the shared papers, in ascending order. It must
+     *  have room for the paper count of either author.
+     * @return The number of shared papers.
+     */
+    public int sharedPapers(int firstAuthor, int secondAuthor, YearRange years, int[] shared) {
+        int i = papersStart(firstAuthor);
+        int firstEnd = papersEnd(firstAuthor);
+        int j = papersStart(secondAuthor);
+        int secondEnd = papersEnd(secondAuthor);
+        if (years != YearRange.ALL) {
+            int firstPaper = firstPaperIn(years);
+            int endPaper = endPaperIn(years);
+            i = lowerBound(authorPapers, i, firstEnd, firstPaper);
+            firstEnd = lowerBound(authorPapers, i, firstEnd, endPaper);
+            j = lowerBound(authorPapers, j, secondEnd, firstPaper);
+            secondEnd = lowerBound(authorPapers, j, secondEnd, endPaper);
+        }
+
+        int numShared = 0;
+        while (i < firstEnd && j < secondEnd) {
+            int first = authorPapers.get(i);
+            int second = authorPapers.get(j);
+            if (first < second) {
+                ++i;
+            } else if (first > second) {
+                ++j;
+            } else {
+                shared[numShared++] = first;
+                ++i;
+                ++j;
+            }
+        }
+        return numShared;
+    }
+
+    LongBuffer getPaperIds() {
+        return paperIds;
+    }
+
+    IntBuffer getPaperYears() {
+        return paperYears;
+    }
+
+    LongBuffer getAuthorIds() {
+        return authorIds;
+    }
+
+    IntBuffer getPaperAuthorOffsets() {
+        return paperAuthorOffsets;
+    }
+
+    IntBuffer getPaperAuthors() {
+        return paperAuthors;
+    }
+
+    IntBuffer getAuthorPaperOffsets() {
+        return authorPaperOffsets;
+    }
+
+    IntBuffer getAuthorPapers() {
+        return authorPapers;
+    }
+
+    /**
+     * @return The approximate amount of memory used by the index, in bytes. For an index
+     *  mapped from a snapshot, this memory is in the page cache rather than on the heap.
+     */
+    public long sizeInBytes() {
+        long size = 8L * (paperIds.limit() + authorIds.limit())
+                + 4L * (paperYears.limit() + paperAuthorOffsets.limit() + paperAuthors.limit()
+                        + authorPaperOffsets.limit() + authorPapers.limit());
+        if (titles != null) {
+            size += titles.sizeInBytes();
+        }
+        if (names != null) {
+            size += names.sizeInBytes();
+        }
+        return size;
+    }
+}
@@ -0,0 +1,31 @@
+package com.csci8380.project1;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Model representing a chain of co-authors that links two researchers.
+ */
+public class CollaborationPath {
+    /// Names of the authors along the chain, starting and ending with the two researchers.
+    private List<String> authors = new ArrayList<>();
+    /// Papers linking each author to the next, so that paper `i` was co-authored by
+    /// authors `i` and `i + 1`.
+    private List<Paper> papers = new ArrayList<>();
+
+    public List<String> getAuthors() {
+        return authors;
+    }
+
+    public void setAuthors(List<String> authors) {
+        this.authors = authors;
+    }
+
+    public List<Paper> getPapers() {
+        return papers;
+    }
+
+    public void setPapers(List<Paper> papers) {
+        this.papers = papers;
+    }
+}
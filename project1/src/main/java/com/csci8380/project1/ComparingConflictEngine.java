@@ -0,0 +1,64 @@
+package com.csci8380.project1;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Conflict engine that answers with a primary engine, but also runs every query through
+ * a candidate engine and logs any difference between the two. This allows a new engine
+ * to be checked against production traffic before switching over to it.
+ */
+public class ComparingConflictEngine implements ConflictEngine {
+
+    private static final Logger LOGGER = Logger.getLogger(ComparingConflictEngine.class.getName());
+
+    private final ConflictEngine primary;
+    private final ConflictEngine candidate;
+
+    /**
+     * @param primary The engine whose results are returned.
+     * @param candidate The engine to compare against it.
+     */
+    public ComparingConflictEngine(ConflictEngine primary, ConflictEngine candidate) {
+        this.primary = primary;
+        this.candidate = candidate;
+    }
+
+    /**
+     * Summarizes papers in a form that can be compared. Ordering is ignored, since
+     * papers from the same year may come back in any order.
+     */
+    private static Set<String> summarize(List<Paper> papers) {
+        Set<String> summary = new HashSet<>();
+        for (Paper paper : papers) {
+            summary.add(paper.getYear() + ": " + paper.getName());
+        }
+        return summary;
+    }
+
+    @Override
+    public List<Paper> findCOI(String firstAuthor, String secondAuthor, YearRange years) {
+        long primaryStart = System.nanoTime();
+        List<Paper> expected = primary.findCOI(firstAuthor, secondAuthor, years);
+        long candidateStart = System.nanoTime();
+        try {
+            List<Paper> actual = candidate.findCOI(firstAuthor, secondAuthor, years);
+            long candidateEnd = System.nanoTime();
+
+            if (!summarize(expected).equals(summarize(actual))) {
+                LOGGER.warning(String.format("Engines disagree on (%s, %s): expected %s, got %s",
+                        firstAuthor, secondAuthor, summarize(expected), summarize(actual)));
+            }
+            LOGGER.fine(String.format("Query for (%s, %s) took %d us with the primary engine and %d us with the candidate",
+                    firstAuthor, secondAuthor, (candidateStart - primaryStart) / 1000,
+                    (candidateEnd - candidateStart) / 1000));
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Candidate engine failed on (" + firstAuthor + ", " + secondAuthor + ")", e);
+        }
+
+        return expected;
+    }
+}
@@ -11,6 +11,18 @@ public class ConflictCheckResult {
     private ConflictLevel level;
     /// List of overlapping papers.
     private List<Paper> papers = new ArrayList<>();
+    /// Chains of co-authors linking the two researchers, if they were searched for and
+    /// there are no overlapping papers, or null otherwise.
+    private List<CollaborationPath> paths;
+    /// Similar names to suggest if no author has the first name, or null otherwise.
+    private List<AuthorSuggestion> firstNameCandidates;
+    /// Similar names to suggest if no author has the second name, or null otherwise.
+    private List<AuthorSuggestion> secondNameCandidates;
+    /// Version of the dataset that answered the check.
+    private String datasetVersion;
+    /// Why the check failed, for a pair in a batch that could not be checked, or null
+    /// otherwise. The other fields are empty if this is set.
+    private ErrorResult error;
 
     public ConflictLevel getLevel() {
         return level;
@@ -27,4 +39,44 @@ public class ConflictCheckResult {
     public void setPapers(List<Paper> papers) {
         this.papers = papers;
     }
+
+    public List<CollaborationPath> getPaths() {
+        return paths;
+    }
+
+    public void setPaths(List<CollaborationPath> paths) {
+        this.paths = paths;
+    }
+
+    public List<AuthorSuggestion> getFirstNameCandidates() {
+        return firstNameCandidates;
+    }
+
+    public void setFirstNameCandidates(List<AuthorSuggestion> firstNameCandidates) {
+        this.firstNameCandidates = firstNameCandidates;
+    }
+
+    public List<AuthorSuggestion> getSecondNameCandidates() {
+        return secondNameCandidates;
+    }
+
+    public void setSecondNameCandidates(List<AuthorSuggestion> secondNameCandidates) {
+        this.secondNameCandidates = secondNameCandidates;
+    }
+
+    public String getDatasetVersion() {
+        return datasetVersion;
+    }
+
+    public void setDatasetVersion(String datasetVersion) {
+        this.datasetVersion = datasetVersion;
+    }
+
+    public ErrorResult getError() {
+        return error;
+    }
+
+    public void setError(ErrorResult error) {
+        this.error = error;
+    }
 }
@@ -0,0 +1,234 @@
+package com.csci8380.project1;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs conflict checks between pairs of researchers, caching the results.
+ */
+public final class ConflictChecker {
+
+    /// Caches results for pairs that are checked repeatedly. Its size and TTL are set by the
+    /// `conflict.cache.size` and `conflict.cache.ttlSeconds` properties.
+    private static final PairCache CACHE = new PairCache(
+            Integer.getInteger("conflict.cache.size", 10000),
+            Long.getLong("conflict.cache.ttlSeconds", 3600), TimeUnit.SECONDS);
+
+    /// Number of similar names to suggest for a name that no author has, as set by the
+    /// `conflict.fuzzy.candidates` property.
+    private static final int NUM_CANDIDATES = Integer.getInteger("conflict.fuzzy.candidates", 5);
+    /// How long the search for similar names may take, as set by the `conflict.fuzzy.budgetMs`
+    /// property.
+    private static final long CANDIDATE_BUDGET_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(Long.getLong("conflict.fuzzy.budgetMs", 50));
+
+    /// Maximum number of co-authorship links that can be searched for indirect conflicts.
+    public static final int MAX_HOPS = 3;
+    /// Number of co-author chains to return for an indirect conflict, as set by the
+    /// `conflict.hops.maxPaths` property.
+    private static final int MAX_PATHS = Integer.getInteger("conflict.hops.maxPaths", 10);
+    /// Maximum number of authors to visit from each researcher when searching for indirect
+    /// conflicts, as set by the `conflict.hops.maxFrontier` property.
+    private static final int MAX_FRONTIER = Integer.getInteger("conflict.hops.maxFrontier", 50000);
+
+    private ConflictChecker() {}
+
+    /**
+     * Normalizes a name, so that trivially different spellings are treated the same.
+     * @param name The name, as entered by the user.
+     * @return The name in Unicode NFC form, with surrounding whitespace removed and internal
+     *  whitespace collapsed to single spaces.
+     */
+    public static String normalizeName(String name) {
+        if (name == null) {
+            return "";
+        }
+        return Normalizer.normalize(name, Normalizer.Form.NFC).trim().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * Checks if two researchers have a conflict-of-interest, using a cached result if there
+     * is one. The graph must already be loaded.
+     * @param firstName The full name of the first researcher.
+     * @param secondName The full name of the second researcher.
+     * @return The result of the check. This may be shared with other callers, so it must
+     *  not be modified.
+     */
+    public static ConflictCheckResult check(String firstName, String secondName) {
+        return check(firstName, secondName, 1, YearRange.ALL);
+    }
+
+    /**
+     * Checks if two researchers have a conflict-of-interest, using a cached result if there
+     * is one. The graph must already be loaded.
+     * @param firstName The full name of the first researcher.
+     * @param secondName The full name of the second researcher.
+     * @param hops The maximum number of co-authorship links between the researchers. If
+     *  this is more than 1 and they have no papers in common, the result is
+     *  {@link ConflictLevel#INDIRECT} if they are linked through co-authors.
+     * @param years The years to count papers from. The conflict level only depends on the
+     *  papers in this range.
+     * @return The result of the check. This may be shared with other callers, so it must
+     *  not be modified.
+     */
+    public static ConflictCheckResult check(String firstName, String secondName, int hops, YearRange years) {
+        Dataset dataset = KnowledgeGraph.acquireDataset();
+        try {
+            return check(dataset, firstName, secondName, hops, years);
+        } finally {
+            dataset.release();
+        }
+    }
+
+    /**
+     * Checks if two researchers have a conflict-of-interest against a particular dataset,
+     * using a cached result if there is one from the same dataset. The names may have been
+     * cached in either order.
+     * @param dataset The dataset to query, which the caller holds a reference to.
+     * @param firstName The full name of the first researcher.
+     * @param secondName The full name of the second researcher.
+     * @param hops The maximum number of co-authorship links between the researchers.
+     * @param years The years to count papers from.
+     * @return The result of the check. This may be shared with other callers, so it must
+     *  not be modified.
+     */
+    public static ConflictCheckResult check(Dataset dataset, String firstName, String secondName,
+                                            int hops, YearRange years) {
+        String first = normalizeName(firstName);
+        String second = normalizeName(secondName);
+        boolean reversed = PairCache.isReversed(first, second);
+        String key = key(first, second, hops, years);
+        long startNanos = Metrics.checkStarted();
+        ConflictCheckResult result = null;
+        try {
+            // Results are checked and cached with the names in the order of the key.
+            result = CACHE.get(key, dataset.getGeneration());
+            if (result == null) {
+                result = reversed ? checkUncached(dataset, second, first, hops, years)
+                        : checkUncached(dataset, first, second, hops, years);
+                CACHE.put(key, result, dataset.getGeneration());
+            }
+            if (reversed) {
+                result = reverse(result);
+            }
+            return result;
+        } finally {
+            Metrics.checkFinished(startNanos, result);
+        }
+    }
+
+    /**
+     * Creates the key that identifies the result of a check, for its entity tag. Checks with
+     * the same key always have the same result against the same dataset. Unlike the key of
+     * the result cache, this depends on the order of the names, since the result does.
+     * @param firstName The full name of the first researcher.
+     * @param secondName The full name of the second researcher.
+     * @param hops The maximum number of co-authorship links between the researchers.
+     * @param years The years to count papers from.
+     * @return The key.
+     */
+    public static String resultKey(String firstName, String secondName, int hops, YearRange years) {
+        String first = normalizeName(firstName);
+        String second = normalizeName(secondName);
+        String key = key(first, second, hops, years);
+        return PairCache.isReversed(first, second) ? key + "\u0000reversed" : key;
+    }
+
+    private static String key(String firstName, String secondName, int hops, YearRange years) {
+        return PairCache.key(firstName, secondName, "hops=" + hops + ";years=" + years);
+    }
+
+    /**
+     * Turns a result round, for the names the other way around.
+     * @param result The result, which is not modified.
+     * @return A copy of the result, with the candidates for the two names swapped and the
+     *  co-author chains reversed. The papers are shared with the original.
+     */
+    static ConflictCheckResult reverse(ConflictCheckResult result) {
+        ConflictCheckResult reversed = new ConflictCheckResult();
+        reversed.setLevel(result.getLevel());
+        reversed.setPapers(result.getPapers());
+        reversed.setFirstNameCandidates(result.getSecondNameCandidates());
+        reversed.setSecondNameCandidates(result.getFirstNameCandidates());
+        reversed.setDatasetVersion(result.getDatasetVersion());
+        reversed.setError(result.getError());
+        if (result.getPaths() != null) {
+            List<CollaborationPath> paths = new ArrayList<>(result.getPaths().size());
+            for (CollaborationPath path : result.getPaths()) {
+                CollaborationPath reversedPath = new CollaborationPath();
+                List<String> authors = new ArrayList<>(path.getAuthors());
+                Collections.reverse(authors);
+                reversedPath.setAuthors(authors);
+                List<Paper> papers = new ArrayList<>(path.getPapers());
+                Collections.reverse(papers);
+                reversedPath.setPapers(papers);
+                paths.add(reversedPath);
+            }
+            reversed.setPaths(paths);
+        }
+        return reversed;
+    }
+
+    /**
+     * Checks if two researchers have a conflict-of-interest, always querying the graph.
+     * @param dataset The dataset to query, which the caller holds a reference to.
+     * @param firstName The normalized name of the first researcher.
+     * @param secondName The normalized name of the second researcher.
+     * @param hops The maximum number of co-authorship links between the researchers.
+     * @param years The years to count papers from.
+     * @return The result of the check.
+     */
+    static ConflictCheckResult checkUncached(Dataset dataset, String firstName, String secondName,
+                                             int hops, YearRange years) {
+        List<Paper> papers = KnowledgeGraph.findCOI(dataset, firstName, secondName, years);
+
+        ConflictCheckResult result = new ConflictCheckResult();
+        result.setLevel(ConflictLevel.forPaperCount(papers.size()));
+        result.setPapers(papers);
+        result.setDatasetVersion(dataset.getVersion());
+        if (papers.isEmpty() && hops > 1) {
+            List<CollaborationPath> paths = KnowledgeGraph.findPaths(dataset, firstName, secondName, hops,
+                    MAX_PATHS, MAX_FRONTIER, years);
+            if (!paths.isEmpty()) {
+                result.setLevel(ConflictLevel.INDIRECT);
+                result.setPaths(paths);
+            }
+        }
+        if (result.getLevel() == ConflictLevel.NONE) {
+            // The names may just be misspelled, so suggest some alternatives.
+            result.setFirstNameCandidates(candidatesFor(dataset, firstName));
+            result.setSecondNameCandidates(candidatesFor(dataset, secondName));
+        }
+        return result;
+    }
+
+    /**
+     * Finds names to suggest in place of a name that may be misspelled.
+     * @param dataset The dataset to search.
+     * @param name The normalized name.
+     * @return The most similar names, best first, or null if some author has the name.
+     */
+    private static List<AuthorSuggestion> candidatesFor(Dataset dataset, String name) {
+        if (dataset.resolveAuthors(name).length > 0) {
+            return null;
+        }
+        return dataset.findSimilarNames(name, NUM_CANDIDATES, CANDIDATE_BUDGET_NANOS);
+    }
+
+    /**
+     * Empties the result cache, so that the next check of every pair queries the graph.
+     */
+    static void clearCache() {
+        CACHE.clear();
+    }
+
+    /**
+     * @return The current statistics of the result cache.
+     */
+    public static CacheStats getCacheStats() {
+        return CACHE.getStats();
+    }
+}
@@ -1,9 +1,20 @@
 package com.csci8380.project1;
 
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
 import jakarta.ws.rs.ApplicationPath;
 import jakarta.ws.rs.core.Application;
 
 @ApplicationPath("/api")
 public class ConflictCheckerApplication extends Application {
 
-}
\ No newline at end of file
+    /**
+     * Starts loading the DBLP graph as soon as the application is deployed, so that
+     * the first user does not have to wait for it.
+     * @param event The CDI event fired when the application scope starts.
+     */
+    public void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        KnowledgeGraph.startLoading();
+    }
+}
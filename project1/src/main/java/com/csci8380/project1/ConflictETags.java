@@ -0,0 +1,90 @@
+package com.csci8380.project1;
+
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.EntityTag;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Creates the entity tags for conflict check results. A result only depends on the dataset
+ * and on the normalized names and options that were checked, so the tag is made from the
+ * fingerprint of the dataset and a hash of those. Clients and proxies can then revalidate a
+ * result with `If-None-Match`, which is answered without querying the graph, and it stays
+ * valid until a different dataset is loaded.
+ * <p>
+ * The tags are weak, because two checks of the same pair may differ in insignificant ways,
+ * such as the order of papers from the same year, or which similar names were found before
+ * the search for them ran out of time.
+ */
+public final class ConflictETags {
+
+    /// How long clients and proxies may reuse a result without revalidating it, as set by the
+    /// `conflict.http.maxAgeSeconds` property.
+    private static final int MAX_AGE_SECONDS = Integer.getInteger("conflict.http.maxAgeSeconds", 300);
+
+    /// Fingerprint of the current dataset, or null if none has been loaded yet. This is kept
+    /// here, rather than read from {@link KnowledgeGraph}, so that revalidating a result does
+    /// not touch the graph at all.
+    private static volatile String currentFingerprint;
+
+    private ConflictETags() {}
+
+    /**
+     * Records that a dataset has become current. Tags for earlier datasets no longer match
+     * after this.
+     * @param dataset The new current dataset.
+     */
+    static void datasetChanged(Dataset dataset) {
+        currentFingerprint = dataset.getFingerprint();
+    }
+
+    /**
+     * @param key The key of the check, from {@link ConflictChecker#resultKey}.
+     * @return The tag that a result for the key from the current dataset would have, or
+     *  null if no dataset has been loaded.
+     */
+    public static EntityTag forCurrentDataset(String key) {
+        String fingerprint = currentFingerprint;
+        return fingerprint != null ? create(fingerprint, key) : null;
+    }
+
+    /**
+     * @param dataset The dataset that answered the check.
+     * @param key The key of the check, from {@link ConflictChecker#resultKey}.
+     * @return The tag for the result.
+     */
+    public static EntityTag forDataset(Dataset dataset, String key) {
+        return create(dataset.getFingerprint(), key);
+    }
+
+    /**
+     * @return The `Cache-Control` header for conflict check results. They may be stored by
+     *  shared caches, since they do not depend on who asked.
+     */
+    public static CacheControl cacheControl() {
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setNoTransform(false);
+        cacheControl.setMaxAge(MAX_AGE_SECONDS);
+        return cacheControl;
+    }
+
+    private static EntityTag create(String fingerprint, String key) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM is required to support SHA-256.
+            throw new IllegalStateException(e);
+        }
+        byte[] hash = digest.digest(key.getBytes(StandardCharsets.UTF_8));
+
+        StringBuilder value = new StringBuilder(fingerprint).append('-');
+        // Half of the hash is plenty to tell the pairs checked against one dataset apart.
+        for (int i = 0; i < 16; ++i) {
+            value.append(Character.forDigit((hash[i] >> 4) & 0xf, 16)).append(Character.forDigit(hash[i] & 0xf, 16));
+        }
+        return new EntityTag(value.toString(), true);
+    }
+}
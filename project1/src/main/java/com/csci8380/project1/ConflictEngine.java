@@ -0,0 +1,27 @@
+package com.csci8380.project1;
+
+import java.util.List;
+
+/**
+ * Finds the papers that two researchers have co-authored.
+ */
+public interface ConflictEngine {
+    /**
+     * Finds all the papers that two researchers have co-authored.
+     * @param firstAuthor The full name of the first researcher.
+     * @param secondAuthor The full name of the second researcher.
+     * @return The shared papers, most recent first.
+     */
+    default List<Paper> findCOI(String firstAuthor, String secondAuthor) {
+        return findCOI(firstAuthor, secondAuthor, YearRange.ALL);
+    }
+
+    /**
+     * Finds the papers that two researchers have co-authored within a range of years.
+     * @param firstAuthor The full name of the first researcher.
+     * @param secondAuthor The full name of the second researcher.
+     * @param years The years to include papers from.
+     * @return The shared papers, most recent first.
+     */
+    List<Paper> findCOI(String firstAuthor, String secondAuthor, YearRange years);
+}
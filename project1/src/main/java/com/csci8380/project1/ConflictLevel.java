@@ -6,7 +6,24 @@ package com.csci8380.project1;
  */
 public enum ConflictLevel {
     NONE,
+    /// The authors have not written a paper together, but are linked through co-authors.
+    INDIRECT,
     LOW,
     MEDIUM,
     STRONG,
+    ;
+
+    /**
+     * Determines the conflict level from the number of shared papers.
+     * @param numPapers The number of papers the two authors share.
+     * @return The corresponding conflict level.
+     */
+    public static ConflictLevel forPaperCount(int numPapers) {
+        switch (numPapers) {
+            case 0: return NONE;
+            case 1: return LOW;
+            case 2: return MEDIUM;
+            default: return STRONG;
+        }
+    }
 }
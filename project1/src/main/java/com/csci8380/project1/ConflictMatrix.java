@@ -0,0 +1,148 @@
+package com.csci8380.project1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Computes conflicts between the reviewers on a committee and a set of submissions over the
+ * co-authorship index. The submissions are indexed once, by the papers of their authors, so
+ * that each reviewer's row only touches the submissions that share a paper with them. Rows
+ * can then be computed a few reviewers at a time, and written out as they finish.
+ */
+public final class ConflictMatrix {
+
+    private final List<Submission> submissions;
+    /// Distinct dense IDs of the papers of every submission's authors, in order.
+    private final int[] papers;
+    /// Where the submissions of each paper start in `paperSubmissions`. The submissions of
+    /// `papers[i]` run up to the start of the next paper's.
+    private final int[] submissionOffsets;
+    /// Positions in `submissions` of the submissions with each paper, in order.
+    private final int[] paperSubmissions;
+
+    private ConflictMatrix(List<Submission> submissions, int[] papers, int[] submissionOffsets,
+                           int[] paperSubmissions) {
+        this.submissions = submissions;
+        this.papers = papers;
+        this.submissionOffsets = submissionOffsets;
+        this.paperSubmissions = paperSubmissions;
+    }
+
+    /**
+     * Indexes submissions by the papers of their authors.
+     * @param dataset The dataset to search.
+     * @param submissions The submissions, which must not be null.
+     * @return The matrix, ready to compute rows against the same dataset.
+     * @throws CancellationException If the thread was interrupted.
+     */
+    static ConflictMatrix prepare(Dataset dataset, List<Submission> submissions) {
+        CoauthorshipIndex index = dataset.getIndex();
+        Map<String, int[]> authorsByName = new HashMap<>();
+
+        // Each entry is a paper in the high half and a submission in the low half, so sorting
+        // them groups each paper's submissions together, in order.
+        long[] entries = new long[16];
+        int numEntries = 0;
+        for (int i = 0; i < submissions.size(); ++i) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Conflict matrix was interrupted.");
+            }
+
+            List<String> authorNames = submissions.get(i).getAuthors();
+            int[] authors = new int[0];
+            for (String name : authorNames == null ? Collections.<String>emptyList() : authorNames) {
+                int[] named = authorsByName.computeIfAbsent(ConflictChecker.normalizeName(name),
+                        dataset::resolveAuthors);
+                int numAuthors = authors.length;
+                authors = Arrays.copyOf(authors, numAuthors + named.length);
+                System.arraycopy(named, 0, authors, numAuthors, named.length);
+            }
+            for (int paper : index.papersOf(authors)) {
+                if (numEntries == entries.length) {
+                    entries = Arrays.copyOf(entries, numEntries * 2);
+                }
+                entries[numEntries++] = (long) paper << 32 | i;
+            }
+        }
+        Arrays.sort(entries, 0, numEntries);
+        Metrics.rowsScanned(numEntries);
+
+        int[] papers = new int[numEntries];
+        int[] submissionOffsets = new int[numEntries + 1];
+        int[] paperSubmissions = new int[numEntries];
+        int numPapers = 0;
+        for (int i = 0; i < numEntries; ++i) {
+            int paper = (int) (entries[i] >>> 32);
+            if (numPapers == 0 || papers[numPapers - 1] != paper) {
+                papers[numPapers] = paper;
+                submissionOffsets[numPapers++] = i;
+            }
+            paperSubmissions[i] = (int) entries[i];
+        }
+        submissionOffsets[numPapers] = numEntries;
+        return new ConflictMatrix(submissions, Arrays.copyOf(papers, numPapers),
+                Arrays.copyOf(submissionOffsets, numPapers + 1), paperSubmissions);
+    }
+
+    /**
+     * Computes the rows of some reviewers on the calling thread.
+     * @param dataset The dataset that the matrix was prepared against.
+     * @param reviewers The full names of the reviewers.
+     * @return The cells with a conflict, one reviewer at a time in the order of the input,
+     *  and in the order of the submissions within each reviewer.
+     * @throws CancellationException If the thread was interrupted.
+     */
+    List<MatrixCell> computeRows(Dataset dataset, List<String> reviewers) {
+        CoauthorshipIndex index = dataset.getIndex();
+        List<MatrixCell> cells = new ArrayList<>();
+        // Number of papers that each submission shares with the current reviewer.
+        int[] numShared = new int[submissions.size()];
+        int[] touched = new int[16];
+        long numRows = 0;
+        for (String reviewer : reviewers) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Conflict matrix was interrupted.");
+            }
+
+            int[] reviewerPapers = index.papersOf(dataset.resolveAuthors(ConflictChecker.normalizeName(reviewer)));
+            numRows += reviewerPapers.length;
+            int numTouched = 0;
+            for (int paper : reviewerPapers) {
+                int position = Arrays.binarySearch(papers, paper);
+                if (position < 0) {
+                    continue;
+                }
+                for (int i = submissionOffsets[position]; i < submissionOffsets[position + 1]; ++i) {
+                    int submission = paperSubmissions[i];
+                    if (numShared[submission]++ == 0) {
+                        if (numTouched == touched.length) {
+                            touched = Arrays.copyOf(touched, numTouched * 2);
+                        }
+                        touched[numTouched++] = submission;
+                    }
+                }
+            }
+            numRows += numTouched;
+
+            Arrays.sort(touched, 0, numTouched);
+            for (int i = 0; i < numTouched; ++i) {
+                int submission = touched[i];
+                MatrixCell cell = new MatrixCell();
+                cell.setReviewer(reviewer);
+                cell.setSubmission(submissions.get(submission).getId());
+                cell.setLevel(ConflictLevel.forPaperCount(numShared[submission]));
+                cell.setSharedPapers(numShared[submission]);
+                cells.add(cell);
+                // Only reset the counts that were set, which is much cheaper than resetting them all.
+                numShared[submission] = 0;
+            }
+        }
+        Metrics.rowsScanned(numRows);
+        return cells;
+    }
+}
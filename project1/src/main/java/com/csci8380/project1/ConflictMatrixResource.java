@@ -0,0 +1,154 @@
+package com.csci8380.project1;
+
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+@Path("/check_names/matrix")
+public class ConflictMatrixResource {
+
+    /// Media type for newline-delimited JSON.
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    /// Maximum number of reviewers allowed in a single request.
+    private static final int MAX_REVIEWERS = Integer.getInteger("conflict.matrix.maxReviewers", 5000);
+    /// Maximum number of submissions allowed in a single request.
+    private static final int MAX_SUBMISSIONS = Integer.getInteger("conflict.matrix.maxSubmissions", 20000);
+    /// Number of reviewers whose rows are computed in each query, as set by the
+    /// `conflict.matrix.chunkRows` property.
+    private static final int CHUNK_ROWS = Math.max(Integer.getInteger("conflict.matrix.chunkRows", 64), 1);
+
+    /// Serializes each cell, as Jersey serializes other responses.
+    private static final Jsonb JSONB = JsonbBuilder.create();
+
+    /**
+     * Endpoint that checks every reviewer against every submission. Only the conflicted
+     * cells are returned, as newline-delimited JSON objects. The submissions are indexed
+     * and the first rows computed before the response starts, so that a matrix that cannot
+     * start gets an error status. The remaining rows are computed on the query pool a chunk
+     * at a time, each with its own timeout, and written out as soon as the chunk finishes.
+     * If a later chunk times out or is turned away, the stream ends with an
+     * {@link ErrorResult} in place of the remaining cells.
+     * @param request The reviewers and submissions to check.
+     * @return A stream of conflicts, one JSON object per line.
+     * @throws ServiceUnavailableException If the DBLP graph is still loading.
+     * @throws QueryTimeoutException If the first chunk was not finished within the query
+     *  timeout.
+     * @throws RejectedExecutionException If the query pool is full.
+     */
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(APPLICATION_NDJSON)
+    public Response checkMatrix(MatrixRequest request) {
+        if (request == null || request.getReviewers() == null || request.getSubmissions() == null) {
+            throw new BadRequestException("Expected a JSON object with reviewers and submissions.");
+        }
+        if (request.getReviewers().size() > MAX_REVIEWERS || request.getSubmissions().size() > MAX_SUBMISSIONS) {
+            throw new WebApplicationException(String.format("A request may contain at most %d reviewers and %d submissions.",
+                    MAX_REVIEWERS, MAX_SUBMISSIONS), Response.Status.REQUEST_ENTITY_TOO_LARGE);
+        }
+        validate(request);
+        NameCheckResource.requireGraph();
+
+        List<String> reviewers = request.getReviewers();
+        // Hold on to the dataset until the stream ends, so that every row comes from the same one.
+        Dataset dataset = KnowledgeGraph.acquireDataset();
+        ConflictMatrix matrix;
+        List<MatrixCell> firstCells;
+        try {
+            matrix = KnowledgeGraph.prepareConflictMatrix(dataset, request.getSubmissions());
+            firstCells = KnowledgeGraph.findConflictRows(dataset, matrix, chunk(reviewers, 0));
+        } catch (RuntimeException e) {
+            dataset.release();
+            throw e;
+        }
+
+        StreamingOutput stream = outputStream -> {
+            try {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+                write(writer, firstCells);
+                for (int start = CHUNK_ROWS; start < reviewers.size(); start += CHUNK_ROWS) {
+                    List<MatrixCell> cells;
+                    try {
+                        cells = KnowledgeGraph.findConflictRows(dataset, matrix, chunk(reviewers, start));
+                    } catch (QueryTimeoutException e) {
+                        write(writer, new ErrorResult("query_timeout", e.getMessage()));
+                        return;
+                    } catch (RejectedExecutionException e) {
+                        write(writer, new ErrorResult("overloaded", "Too many queries are in progress."));
+                        return;
+                    }
+                    write(writer, cells);
+                }
+            } finally {
+                dataset.release();
+            }
+        };
+        return Response.ok(stream).build();
+    }
+
+    /**
+     * @return The reviewers of the chunk that starts at a position.
+     */
+    private static List<String> chunk(List<String> reviewers, int start) {
+        return reviewers.subList(start, Math.min(start + CHUNK_ROWS, reviewers.size()));
+    }
+
+    /**
+     * Writes cells to the client, one per line, and flushes them.
+     */
+    private static void write(Writer writer, List<MatrixCell> cells) throws IOException {
+        for (MatrixCell cell : cells) {
+            writer.write(JSONB.toJson(cell));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes the error that ends the stream, and flushes it.
+     */
+    private static void write(Writer writer, ErrorResult error) throws IOException {
+        writer.write(JSONB.toJson(error));
+        writer.write('\n');
+        writer.flush();
+    }
+
+    /**
+     * Checks that none of the names or submissions in a request are null.
+     * @throws BadRequestException If one is.
+     */
+    private static void validate(MatrixRequest request) {
+        for (String reviewer : request.getReviewers()) {
+            if (reviewer == null) {
+                throw new BadRequestException("Reviewers must be names, not null.");
+            }
+        }
+        for (Submission submission : request.getSubmissions()) {
+            if (submission == null) {
+                throw new BadRequestException("Submissions must be objects with an id and authors, not null.");
+            }
+            if (submission.getAuthors() != null && submission.getAuthors().contains(null)) {
+                throw new BadRequestException("The authors of submission " + submission.getId()
+                        + " must be names, not null.");
+            }
+        }
+    }
+}
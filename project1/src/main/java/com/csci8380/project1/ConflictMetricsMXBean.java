@@ -0,0 +1,48 @@
+package com.csci8380.project1;
+
+import java.util.Map;
+
+/**
+ * Management interface for the metrics collected by {@link Metrics}.
+ */
+public interface ConflictMetricsMXBean {
+
+    /// Number of conflict checks that have finished successfully.
+    long getChecks();
+
+    /// Number of successful conflict checks with each conflict level.
+    Map<String, Long> getChecksByLevel();
+
+    /// Number of conflict checks that are running.
+    int getChecksInFlight();
+
+    /// Number of conflict checks that failed.
+    long getCheckErrors();
+
+    /// Mean latency of successful conflict checks.
+    double getMeanCheckMillis();
+
+    /// Mean execution time of each type of graph query.
+    Map<String, Double> getMeanQueryMillis();
+
+    /// Total number of rows scanned by graph queries.
+    long getRowsScanned();
+
+    /// Mean time taken to write a response body.
+    double getMeanSerializationMillis();
+
+    /// Time taken to load the most recent dataset.
+    double getLoadSeconds();
+
+    /// Resident memory after the most recent load, or -1 if it is not known.
+    long getResidentMemoryBytes();
+
+    /// Heap in use after the most recent load.
+    long getHeapUsedBytes();
+
+    /// Size of the co-authorship index.
+    long getIndexBytes();
+
+    /// Size of the author suggester and the fuzzy name index.
+    long getNameIndexBytes();
+}
@@ -0,0 +1,294 @@
+package com.csci8380.project1;
+
+import org.rdfhdt.hdt.listener.ProgressListener;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Reads and writes snapshots of a {@link CoauthorshipIndex}, along with the titles of the
+ * papers, a table of author names and the {@link FuzzyNameIndex} of those names, so that
+ * none of them have to be rebuilt from the HDT every time the app starts. A snapshot is
+ * memory-mapped rather than read, so opening one is nearly instant.
+ * <p>
+ * All numbers are big-endian. The file starts with a header made up of the magic bytes
+ * "DBLPSNAP", the format version and the number of sections (ints), the length and
+ * fingerprint of the HDT file that the snapshot was built from, and a CRC32 checksum of all
+ * the sections (longs). This is followed by the offset and length in bytes of each section
+ * (longs), and then by the sections themselves, each starting at a multiple of 8 bytes.
+ * Checking the checksum means reading the whole file, so it is only done when the
+ * `dblp.snapshot.verify` property is set.
+ */
+public final class ConflictSnapshot {
+
+    private static final long MAGIC = 0x44424c50534e4150L;
+    /// Version of the format. Snapshots with any other version are rejected.
+    static final int VERSION = 2;
+
+    /// Sections of the file, in the order they are stored.
+    private static final int PAPER_IDS = 0;
+    private static final int PAPER_YEARS = 1;
+    private static final int AUTHOR_IDS = 2;
+    private static final int PAPER_AUTHOR_OFFSETS = 3;
+    private static final int PAPER_AUTHORS = 4;
+    private static final int AUTHOR_PAPER_OFFSETS = 5;
+    private static final int AUTHOR_PAPERS = 6;
+    private static final int TITLE_BLOCKS = 7;
+    private static final int TITLE_DATA = 8;
+    private static final int NAME_BLOCKS = 9;
+    private static final int NAME_DATA = 10;
+    private static final int NAME_AUTHOR_OFFSETS = 11;
+    private static final int NAME_AUTHORS = 12;
+    private static final int FUZZY_KEYS = 13;
+    private static final int FUZZY_KEY_OFFSETS = 14;
+    private static final int FUZZY_TRIGRAMS = 15;
+    private static final int FUZZY_TRIGRAM_NAME_OFFSETS = 16;
+    private static final int FUZZY_TRIGRAM_NAMES = 17;
+    private static final int NUM_SECTIONS = 18;
+
+    private static final int HEADER_SIZE = 8 + 4 + 4 + 8 + 8 + 8 + 16 * NUM_SECTIONS;
+
+    /// Number of bytes read from each end of the HDT file to fingerprint it.
+    private static final int FINGERPRINT_BYTES = 1 << 20;
+
+    /// Property that makes opening a snapshot check the checksum of its sections.
+    static final String VERIFY_PROPERTY = "dblp.snapshot.verify";
+
+    private final CoauthorshipIndex index;
+    private final FuzzyNameIndex fuzzyIndex;
+
+    private ConflictSnapshot(CoauthorshipIndex index, FuzzyNameIndex fuzzyIndex) {
+        this.index = index;
+        this.fuzzyIndex = fuzzyIndex;
+    }
+
+    /**
+     * @return The co-authorship index, holding titles and names.
+     */
+    public CoauthorshipIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * @return The fuzzy index of the author names.
+     */
+    public FuzzyNameIndex getFuzzyIndex() {
+        return fuzzyIndex;
+    }
+
+    /**
+     * Fingerprints an HDT file, so that a snapshot can be matched to the file it was built
+     * from. Only the start and end of the file are read, which is enough to tell different
+     * DBLP dumps apart without reading several gigabytes.
+     * @param hdtPath The path to the HDT file.
+     * @return The fingerprint.
+     * @throws IOException If the file could not be read.
+     */
+    static long fingerprint(Path hdtPath) throws IOException {
+        CRC32 checksum = new CRC32();
+        try (FileChannel channel = FileChannel.open(hdtPath, StandardOpenOption.READ)) {
+            long length = channel.size();
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(length, FINGERPRINT_BYTES));
+            channel.read(buffer, 0);
+            buffer.flip();
+            checksum.update(buffer);
+
+            buffer.clear();
+            channel.read(buffer, Math.max(0, length - buffer.capacity()));
+            buffer.flip();
+            checksum.update(buffer);
+        }
+        return checksum.getValue();
+    }
+
+    /**
+     * Writes a snapshot. It is written to a temporary file first, so that a snapshot that
+     * is being used is never left half-written.
+     * @param snapshotPath Where to write the snapshot.
+     * @param hdtPath The path to the HDT file that the index was built from.
+     * @param index The index to write.
+     * @param lookup Lookup for the same HDT, to read titles and names from.
+     * @param listener Receives progress updates as the snapshot is written.
+     * @throws IOException If the snapshot could not be written.
+     */
+    public static void write(Path snapshotPath, Path hdtPath, CoauthorshipIndex index, HdtLookup lookup,
+                             ProgressListener listener) throws IOException {
+        listener.notifyProgress(0, "Reading titles");
+        List<byte[]> titles = new ArrayList<>(index.getNumPapers());
+        for (int paper = 0; paper < index.getNumPapers(); ++paper) {
+            String title = lookup.titleOf(index.paperId(paper));
+            titles.add(title != null ? title.getBytes(StandardCharsets.UTF_8) : new byte[0]);
+        }
+        FrontCodedStrings titleStrings = FrontCodedStrings.encode(titles);
+        titles = null;
+
+        listener.notifyProgress(40, "Reading names");
+        AuthorNames names = index.getNames() != null ? index.getNames() : AuthorNames.build(lookup, index);
+        FuzzyNameIndex fuzzyIndex = FuzzyNameIndex.build(names, (level, message) -> {});
+
+        listener.notifyProgress(70, "Writing snapshot");
+        ByteBuffer[] sections = new ByteBuffer[NUM_SECTIONS];
+        sections[PAPER_IDS] = toBytes(index.getPaperIds());
+        sections[PAPER_YEARS] = toBytes(index.getPaperYears());
+        sections[AUTHOR_IDS] = toBytes(index.getAuthorIds());
+        sections[PAPER_AUTHOR_OFFSETS] = toBytes(index.getPaperAuthorOffsets());
+        sections[PAPER_AUTHORS] = toBytes(index.getPaperAuthors());
+        sections[AUTHOR_PAPER_OFFSETS] = toBytes(index.getAuthorPaperOffsets());
+        sections[AUTHOR_PAPERS] = toBytes(index.getAuthorPapers());
+        sections[TITLE_BLOCKS] = toBytes(titleStrings.getBlockOffsets());
+        sections[TITLE_DATA] = titleStrings.getData().duplicate();
+        sections[NAME_BLOCKS] = toBytes(names.getStrings().getBlockOffsets());
+        sections[NAME_DATA] = names.getStrings().getData().duplicate();
+        sections[NAME_AUTHOR_OFFSETS] = toBytes(names.getAuthorOffsets());
+        sections[NAME_AUTHORS] = toBytes(names.getAuthors());
+        sections[FUZZY_KEYS] = fuzzyIndex.getKeys().duplicate();
+        sections[FUZZY_KEY_OFFSETS] = toBytes(fuzzyIndex.getKeyOffsets());
+        sections[FUZZY_TRIGRAMS] = toBytes(fuzzyIndex.getTrigrams());
+        sections[FUZZY_TRIGRAM_NAME_OFFSETS] = toBytes(fuzzyIndex.getTrigramNameOffsets());
+        sections[FUZZY_TRIGRAM_NAMES] = toBytes(fuzzyIndex.getTrigramNames());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putLong(MAGIC);
+        header.putInt(VERSION);
+        header.putInt(NUM_SECTIONS);
+        header.putLong(Files.size(hdtPath));
+        header.putLong(fingerprint(hdtPath));
+        int checksumPosition = header.position();
+        header.putLong(0);
+
+        CRC32 checksum = new CRC32();
+        long offset = align(HEADER_SIZE);
+        for (ByteBuffer section : sections) {
+            header.putLong(offset);
+            header.putLong(section.remaining());
+            checksum.update(section.duplicate());
+            offset = align(offset + section.remaining());
+        }
+        header.putLong(checksumPosition, checksum.getValue());
+        header.flip();
+
+        Path temporaryPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(channel, header, 0);
+            long position = align(HEADER_SIZE);
+            for (ByteBuffer section : sections) {
+                int length = section.remaining();
+                writeFully(channel, section, position);
+                position = align(position + length);
+            }
+            channel.force(true);
+        }
+        Files.move(temporaryPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        listener.notifyProgress(100, "Wrote snapshot");
+    }
+
+    /**
+     * Opens a snapshot by memory-mapping it.
+     * @param snapshotPath The path to the snapshot.
+     * @param hdtPath The path to the HDT file that is being used. The snapshot is rejected
+     *  if it was built from a different file.
+     * @return The snapshot.
+     * @throws IOException If the snapshot could not be read, is from a different version, or
+     *  was built from a different HDT file, or if it is being verified and is corrupt.
+     */
+    public static ConflictSnapshot open(Path snapshotPath, Path hdtPath) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            if (channel.read(header, 0) != HEADER_SIZE) {
+                throw new IOException("Snapshot " + snapshotPath + " is truncated.");
+            }
+            header.flip();
+            if (header.getLong() != MAGIC) {
+                throw new IOException(snapshotPath + " is not a conflict snapshot.");
+            }
+            int version = header.getInt();
+            if (version != VERSION || header.getInt() != NUM_SECTIONS) {
+                throw new IOException("Snapshot " + snapshotPath + " has version " + version
+                        + ", but version " + VERSION + " is needed. Rebuild it with SnapshotBuilder.");
+            }
+            long hdtLength = header.getLong();
+            long hdtFingerprint = header.getLong();
+            if (hdtLength != Files.size(hdtPath) || hdtFingerprint != fingerprint(hdtPath)) {
+                throw new IOException("Snapshot " + snapshotPath + " was built from a different HDT file than "
+                        + hdtPath + ". Rebuild it with SnapshotBuilder.");
+            }
+            long expectedChecksum = header.getLong();
+            boolean verify = Boolean.getBoolean(VERIFY_PROPERTY);
+
+            CRC32 checksum = new CRC32();
+            MappedByteBuffer[] sections = new MappedByteBuffer[NUM_SECTIONS];
+            for (int i = 0; i < NUM_SECTIONS; ++i) {
+                long offset = header.getLong();
+                long length = header.getLong();
+                if (offset + length > channel.size()) {
+                    throw new IOException("Snapshot " + snapshotPath + " is truncated.");
+                }
+                sections[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                if (verify) {
+                    checksum.update(sections[i].duplicate());
+                }
+            }
+            if (verify && checksum.getValue() != expectedChecksum) {
+                throw new IOException("Snapshot " + snapshotPath + " is corrupt.");
+            }
+
+            CoauthorshipIndex index = new CoauthorshipIndex(
+                    sections[PAPER_IDS].asLongBuffer(), sections[PAPER_YEARS].asIntBuffer(),
+                    sections[AUTHOR_IDS].asLongBuffer(),
+                    sections[PAPER_AUTHOR_OFFSETS].asIntBuffer(), sections[PAPER_AUTHORS].asIntBuffer(),
+                    sections[AUTHOR_PAPER_OFFSETS].asIntBuffer(), sections[AUTHOR_PAPERS].asIntBuffer());
+            IntBuffer nameAuthorOffsets = sections[NAME_AUTHOR_OFFSETS].asIntBuffer();
+            index.setDetails(
+                    new FrontCodedStrings(index.getNumPapers(), sections[TITLE_BLOCKS].asIntBuffer(),
+                            sections[TITLE_DATA]),
+                    new AuthorNames(new FrontCodedStrings(nameAuthorOffsets.limit() - 1,
+                            sections[NAME_BLOCKS].asIntBuffer(), sections[NAME_DATA]),
+                            nameAuthorOffsets, sections[NAME_AUTHORS].asIntBuffer()));
+            FuzzyNameIndex fuzzyIndex = new FuzzyNameIndex(sections[FUZZY_KEYS],
+                    sections[FUZZY_KEY_OFFSETS].asIntBuffer(), sections[FUZZY_TRIGRAMS].asLongBuffer(),
+                    sections[FUZZY_TRIGRAM_NAME_OFFSETS].asIntBuffer(), sections[FUZZY_TRIGRAM_NAMES].asIntBuffer());
+            return new ConflictSnapshot(index, fuzzyIndex);
+        }
+    }
+
+    private static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+
+    private static ByteBuffer toBytes(IntBuffer values) {
+        ByteBuffer bytes = ByteBuffer.allocate(4 * values.limit());
+        IntBuffer ints = bytes.asIntBuffer();
+        for (int i = 0; i < values.limit(); ++i) {
+            ints.put(i, values.get(i));
+        }
+        return bytes;
+    }
+
+    private static ByteBuffer toBytes(LongBuffer values) {
+        ByteBuffer bytes = ByteBuffer.allocate(8 * values.limit());
+        LongBuffer longs = bytes.asLongBuffer();
+        for (int i = 0; i < values.limit(); ++i) {
+            longs.put(i, values.get(i));
+        }
+        return bytes;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
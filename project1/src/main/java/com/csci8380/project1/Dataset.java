@@ -0,0 +1,242 @@
+package com.csci8380.project1;
+
+import org.apache.jena.rdf.model.Model;
+import org.rdfhdt.hdt.hdt.HDT;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * One loaded version of the DBLP dataset: the HDT, the indexes derived from it, and the
+ * engine that answers conflict checks against it. A dataset does not change once it is
+ * loaded.
+ * <p>
+ * Datasets are reference counted. {@link KnowledgeGraph} holds a reference to the current
+ * dataset, and every query holds one while it runs, so that a dataset that has been replaced
+ * stays usable until the queries against it finish, and is closed after that.
+ */
+public class Dataset {
+
+    private static final Logger LOGGER = Logger.getLogger(Dataset.class.getName());
+
+    private final String path;
+    private final String version;
+    /// Identifies the contents of the HDT file, so that the same file gives the same
+    /// fingerprint wherever and whenever it is loaded.
+    private final String fingerprint;
+    private final long generation;
+
+    private final HDT hdt;
+    private final Model model;
+    private final HdtLookup lookup;
+    private final CoauthorshipIndex index;
+    /// Null if the fuzzy name index is disabled.
+    private final FuzzyNameIndex fuzzyIndex;
+    private final AuthorSuggester suggester;
+    private final ConflictEngine engine;
+
+    /// Number of references to the dataset. It starts with the one held while it is current,
+    /// and it is closed once this reaches zero.
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    Dataset(String path, String fingerprint, long generation, HDT hdt, Model model, HdtLookup lookup, CoauthorshipIndex index,
+            FuzzyNameIndex fuzzyIndex, AuthorSuggester suggester, ConflictEngine engine) {
+        this.path = path;
+        this.version = versionOf(path);
+        this.fingerprint = fingerprint;
+        this.generation = generation;
+        this.hdt = hdt;
+        this.model = model;
+        this.lookup = lookup;
+        this.index = index;
+        this.fuzzyIndex = fuzzyIndex;
+        this.suggester = suggester;
+        this.engine = engine;
+    }
+
+    /**
+     * @param path The path to an HDT file.
+     * @return The name of the file without its directory or `.hdt` extension, such as
+     *  "dblp-20170124".
+     */
+    static String versionOf(String path) {
+        String name = Paths.get(path).getFileName().toString();
+        return name.endsWith(".hdt") ? name.substring(0, name.length() - ".hdt".length()) : name;
+    }
+
+    /**
+     * Fingerprints an HDT file from its length and the checksum of its start and end, as
+     * snapshots do.
+     * @param path The path to an HDT file.
+     * @return The fingerprint, as a string of hex digits.
+     * @throws IOException If the file could not be read.
+     */
+    static String fingerprintOf(String path) throws IOException {
+        Path file = Paths.get(path);
+        return String.format("%x-%08x", Files.size(file), ConflictSnapshot.fingerprint(file));
+    }
+
+    /**
+     * Adds a reference to the dataset, which must be released once it is no longer used.
+     * @return True if the reference was added, or false if the dataset has already been
+     *  closed.
+     */
+    boolean retain() {
+        while (true) {
+            int count = references.get();
+            if (count == 0) {
+                return false;
+            }
+            if (references.compareAndSet(count, count + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a reference to the dataset. The last release closes it.
+     */
+    public void release() {
+        if (references.decrementAndGet() == 0) {
+            try {
+                hdt.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Could not close dataset " + version, e);
+            }
+            LOGGER.info("Released dataset " + version + " (generation " + generation + ")");
+        }
+    }
+
+    /**
+     * @return The path to the HDT file that the dataset was loaded from.
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return The name of the dataset, taken from its file name.
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * @return A fingerprint of the HDT file, which only changes if its contents do.
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @return A number that is different for every dataset that has been loaded, even from
+     *  the same file, so that derived data can be invalidated.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    public Model getModel() {
+        return model;
+    }
+
+    public HdtLookup getLookup() {
+        return lookup;
+    }
+
+    public CoauthorshipIndex getIndex() {
+        return index;
+    }
+
+    public AuthorSuggester getSuggester() {
+        return suggester;
+    }
+
+    public ConflictEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Finds all the authors with a particular name.
+     * @param name The full name of the author.
+     * @return The dense IDs of the authors in the co-authorship index.
+     */
+    public int[] resolveAuthors(String name) {
+        if (index.hasDetails()) {
+            return index.authorsNamed(name);
+        }
+        return index.authorIndexes(lookup.peopleNamed(name));
+    }
+
+    /**
+     * Finds the names that are most similar to a name that may be misspelled.
+     * @param name The name to search for.
+     * @param limit The maximum number of names to return.
+     * @param budgetNanos How long the search may take.
+     * @return The most similar names, best first. This is empty if the fuzzy name index is
+     *  disabled by setting the `dblp.fuzzyIndex` property to false.
+     */
+    public List<AuthorSuggestion> findSimilarNames(String name, int limit, long budgetNanos) {
+        List<AuthorSuggestion> suggestions = new ArrayList<>();
+        if (fuzzyIndex == null) {
+            return suggestions;
+        }
+
+        AuthorNames names = index.getNames();
+        for (int match : fuzzyIndex.search(name, limit, budgetNanos)) {
+            AuthorSuggestion suggestion = new AuthorSuggestion();
+            suggestion.setName(names.get(match));
+            suggestion.setPaperCount(names.paperCount(match, index));
+            suggestions.add(suggestion);
+        }
+        return suggestions;
+    }
+
+    /**
+     * Finds the shortest chains of co-authors that link two researchers.
+     * @param author_1 The full name of the first researcher.
+     * @param author_2 The full name of the second researcher.
+     * @param maxHops The maximum number of papers in a chain.
+     * @param maxPaths The maximum number of chains to return.
+     * @param maxVisited The maximum number of authors to visit from each end.
+     * @param years The years to follow papers from.
+     * @return The chains, which each pass through a different co-author. This is empty if
+     *  there is no chain within `maxHops`.
+     * @throws CancellationException If the thread was interrupted during the search.
+     */
+    public List<CollaborationPath> findPaths(String author_1, String author_2,
+                                             int maxHops, int maxPaths, int maxVisited, YearRange years) {
+        int[] sources = resolveAuthors(author_1);
+        int[] targets = resolveAuthors(author_2);
+        List<CollaborationPath> paths = new ArrayList<>();
+        for (int[] chain : new CoauthorSearch(index, maxVisited)
+                .shortestChains(sources, targets, maxHops, maxPaths, years)) {
+            paths.add(toPath(chain));
+        }
+        return paths;
+    }
+
+    /**
+     * Converts a chain found by {@link CoauthorSearch} to its names and papers.
+     */
+    private CollaborationPath toPath(int[] chain) {
+        CollaborationPath path = new CollaborationPath();
+        for (int i = 0; i < chain.length; i += 2) {
+            path.getAuthors().add(lookup.nameOf(index.authorId(chain[i])));
+        }
+        for (int i = 1; i < chain.length; i += 2) {
+            Paper paper = index.hasDetails() ? index.paper(chain[i]) : lookup.paper(index.paperId(chain[i]));
+            // The link still holds even if the paper is missing its title or year.
+            path.getPapers().add(paper != null ? paper : new Paper());
+        }
+        return path;
+    }
+}
@@ -0,0 +1,78 @@
+package com.csci8380.project1;
+
+/**
+ * Model representing the dataset that answers queries, and the state of any swap to a new
+ * one.
+ */
+public class DatasetStatus {
+    /// Name of the current dataset, or null if none is loaded yet.
+    private String version;
+    /// Path to the HDT file of the current dataset.
+    private String path;
+    /// Number of the current dataset, which is different for every one that is loaded.
+    private long generation;
+    /// Path to the HDT file being swapped in, or null if no swap is running.
+    private String pendingPath;
+    /// Progress of the swap, as a percentage.
+    private float progress;
+    /// Most recent status message from the swap.
+    private String message;
+    /// Description of the error that stopped the most recent swap, if any.
+    private String error;
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public void setGeneration(long generation) {
+        this.generation = generation;
+    }
+
+    public String getPendingPath() {
+        return pendingPath;
+    }
+
+    public void setPendingPath(String pendingPath) {
+        this.pendingPath = pendingPath;
+    }
+
+    public float getProgress() {
+        return progress;
+    }
+
+    public void setProgress(float progress) {
+        this.progress = progress;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,27 @@
+package com.csci8380.project1;
+
+/**
+ * Model representing a request to swap in a new DBLP dataset.
+ */
+public class DatasetSwapRequest {
+    /// Path on the server to the new HDT file.
+    private String path;
+    /// Path on the server to a snapshot built from the new file, if there is one.
+    private String snapshot;
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public String getSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(String snapshot) {
+        this.snapshot = snapshot;
+    }
+}
@@ -0,0 +1,28 @@
+package com.csci8380.project1;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Reports the version of the dataset that answered each request in the X-Dataset-Version
+ * header. For conflict checks, this is the version recorded in the result, which stays
+ * accurate even if a new dataset was swapped in while the check ran. Otherwise, it is the
+ * version that is current when the response is sent.
+ */
+@Provider
+public class DatasetVersionFilter implements ContainerResponseFilter {
+
+    public static final String HEADER = "X-Dataset-Version";
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        Object entity = responseContext.getEntity();
+        String version = entity instanceof ConflictCheckResult
+                ? ((ConflictCheckResult) entity).getDatasetVersion() : KnowledgeGraph.getDatasetVersion();
+        if (version != null) {
+            responseContext.getHeaders().putSingle(HEADER, version);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.csci8380.project1;
+
+/**
+ * Terms from the DBLP dataset that the conflict checker relies on, along with helpers
+ * for converting between Java strings and the literals that HDT stores.
+ */
+public final class DblpVocabulary {
+    /// Links a person to their full name.
+    public static final String FOAF_NAME = "http://xmlns.com/foaf/0.1/name";
+    /// Links a paper to one of its authors.
+    public static final String FOAF_MAKER = "http://xmlns.com/foaf/0.1/maker";
+    /// Links a paper to its title.
+    public static final String ELEMENTS_TITLE = "http://purl.org/dc/elements/1.1/title";
+    /// Links a paper to the year it was published.
+    public static final String TERMS_ISSUED = "http://purl.org/dc/terms/issued";
+
+    private DblpVocabulary() {}
+
+    /**
+     * Converts a string to the form that HDT uses for a plain literal.
+     * @param value The string value.
+     * @return The HDT representation of the literal.
+     */
+    public static String literal(String value) {
+        return "\"" + value + "\"";
+    }
+
+    /**
+     * Extracts the lexical form of a literal as stored by HDT, dropping the surrounding
+     * quotes as well as any datatype or language tag.
+     * @param literal The HDT representation of the literal.
+     * @return The lexical form of the literal.
+     */
+    public static String lexicalForm(CharSequence literal) {
+        String value = literal.toString();
+        int end = value.lastIndexOf('"');
+        if (value.isEmpty() || value.charAt(0) != '"' || end <= 0) {
+            // Not a quoted literal.
+            return value;
+        }
+        return value.substring(1, end);
+    }
+
+    /**
+     * Parses a publication year.
+     * @param lexicalForm The lexical form of the year literal, such as "2005".
+     * @return The parsed year, or 0 if it could not be parsed.
+     */
+    public static int parseYear(String lexicalForm) {
+        // Years are normally plain xsd:gYear values, but some may carry a month or day,
+        // so only the leading digits are used.
+        int year = 0;
+        int numDigits = 0;
+        while (numDigits < lexicalForm.length() && numDigits < 9) {
+            char c = lexicalForm.charAt(numDigits);
+            if (c < '0' || c > '9') {
+                break;
+            }
+            year = year * 10 + (c - '0');
+            ++numDigits;
+        }
+        return year;
+    }
+}
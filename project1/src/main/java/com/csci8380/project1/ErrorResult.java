@@ -0,0 +1,34 @@
+package com.csci8380.project1;
+
+/**
+ * Model representing an error returned by the API.
+ */
+public class ErrorResult {
+    /// Machine-readable code identifying the kind of error.
+    private String error;
+    /// Human-readable description of the error.
+    private String message;
+
+    public ErrorResult() {}
+
+    public ErrorResult(String error, String message) {
+        this.error = error;
+        this.message = message;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
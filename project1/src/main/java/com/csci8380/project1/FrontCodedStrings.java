@@ -0,0 +1,264 @@
+package com.csci8380.project1;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Immutable list of strings, stored compactly with front coding. The strings are split into
+ * blocks of {@value #BLOCK_SIZE}. The first string of each block is stored in full, and each
+ * one after it as the length of the prefix it shares with the previous string, followed by
+ * the rest of its UTF-8 bytes. All lengths are variable-length integers. The data can be held
+ * on the heap or in a memory-mapped file.
+ */
+public class FrontCodedStrings {
+
+    /// Number of strings in each block.
+    static final int BLOCK_SIZE = 16;
+
+    private final int size;
+    /// Position in the data at which each block starts.
+    private final IntBuffer blockOffsets;
+    private final ByteBuffer data;
+
+    /**
+     * @param size The number of strings.
+     * @param blockOffsets The position in the data at which each block starts.
+     * @param data The encoded blocks.
+     */
+    FrontCodedStrings(int size, IntBuffer blockOffsets, ByteBuffer data) {
+        this.size = size;
+        this.blockOffsets = blockOffsets;
+        this.data = data;
+    }
+
+    /**
+     * Encodes a list of strings. Strings that share prefixes with their neighbours (such as
+     * sorted strings) take up the least space.
+     * @param strings The UTF-8 bytes of each string.
+     * @return The encoded strings.
+     */
+    public static FrontCodedStrings encode(List<byte[]> strings) {
+        int numBlocks = (strings.size() + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        int[] blockOffsets = new int[numBlocks];
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+
+        byte[] previous = null;
+        for (int i = 0; i < strings.size(); ++i) {
+            byte[] string = strings.get(i);
+            int shared = 0;
+            if (i % BLOCK_SIZE == 0) {
+                blockOffsets[i / BLOCK_SIZE] = data.size();
+            } else {
+                int maxShared = Math.min(previous.length, string.length);
+                while (shared < maxShared && previous[shared] == string[shared]) {
+                    ++shared;
+                }
+                writeVarInt(data, shared);
+            }
+            writeVarInt(data, string.length - shared);
+            data.write(string, shared, string.length - shared);
+            previous = string;
+        }
+
+        return new FrontCodedStrings(strings.size(), IntBuffer.wrap(blockOffsets), ByteBuffer.wrap(data.toByteArray()));
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream output, int value) {
+        while ((value & ~0x7f) != 0) {
+            output.write((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        output.write(value);
+    }
+
+    /**
+     * Decoding state, which reads through a block one string at a time.
+     */
+    private final class Cursor {
+        int position;
+        byte[] bytes = new byte[64];
+        int length;
+
+        Cursor(int block) {
+            position = blockOffsets.get(block);
+            readSuffix(0);
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data.get(position++);
+                value |= (b & 0x7f) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        private void readSuffix(int shared) {
+            int suffixLength = readVarInt();
+            length = shared + suffixLength;
+            if (length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(length, bytes.length * 2));
+            }
+            for (int i = shared; i < length; ++i) {
+                bytes[i] = data.get(position++);
+            }
+        }
+
+        /**
+         * Moves on to the next string in the block.
+         */
+        void next() {
+            readSuffix(readVarInt());
+        }
+
+        /**
+         * Compares the current string to another by their unsigned UTF-8 bytes.
+         */
+        int compareTo(byte[] other) {
+            int commonLength = Math.min(length, other.length);
+            for (int i = 0; i < commonLength; ++i) {
+                int difference = (bytes[i] & 0xff) - (other[i] & 0xff);
+                if (difference != 0) {
+                    return difference;
+                }
+            }
+            return length - other.length;
+        }
+
+        @Override
+        public String toString() {
+            return new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index The index of a string.
+     * @return The string.
+     */
+    public String get(int index) {
+        Cursor cursor = new Cursor(index / BLOCK_SIZE);
+        for (int i = 0; i < index % BLOCK_SIZE; ++i) {
+            cursor.next();
+        }
+        return cursor.toString();
+    }
+
+    /**
+     * Finds a string. The strings must be sorted by their unsigned UTF-8 bytes.
+     * @param string The string to find.
+     * @return The index of the string, or -1 if it is not in the list.
+     */
+    public int find(String string) {
+        byte[] target = string.getBytes(StandardCharsets.UTF_8);
+
+        // Find the last block that starts at or before the string.
+        int low = 0;
+        int high = blockOffsets.limit() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (new Cursor(middle).compareTo(target) <= 0) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        if (high < 0) {
+            return -1;
+        }
+
+        Cursor cursor = new Cursor(low);
+        int end = Math.min(size, (low + 1) * BLOCK_SIZE);
+        for (int index = low * BLOCK_SIZE; index < end; ++index) {
+            if (index > low * BLOCK_SIZE) {
+                cursor.next();
+            }
+            int comparison = cursor.compareTo(target);
+            if (comparison == 0) {
+                return index;
+            } else if (comparison > 0) {
+                break;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds where a string would go in the list. The strings must be sorted by their unsigned
+     * UTF-8 bytes.
+     * @param target The UTF-8 bytes of the string.
+     * @return The index of the first string that is not less than the target, or the size of
+     *  the list if there is none.
+     */
+    int lowerBound(byte[] target) {
+        // Find the last block that starts before the target.
+        int low = 0;
+        int high = blockOffsets.limit() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (new Cursor(middle).compareTo(target) < 0) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        if (high < 0) {
+            return 0;
+        }
+
+        Cursor cursor = new Cursor(low);
+        int end = Math.min(size, (low + 1) * BLOCK_SIZE);
+        for (int index = low * BLOCK_SIZE; index < end; ++index) {
+            if (index > low * BLOCK_SIZE) {
+                cursor.next();
+            }
+            if (cursor.compareTo(target) >= 0) {
+                return index;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Decodes every string in order, which is much faster than getting each one by its index.
+     * @param action Receives each string and its index.
+     */
+    public void forEach(ObjIntConsumer<String> action) {
+        for (int block = 0; block < blockOffsets.limit(); ++block) {
+            Cursor cursor = new Cursor(block);
+            int end = Math.min(size, (block + 1) * BLOCK_SIZE);
+            for (int index = block * BLOCK_SIZE; index < end; ++index) {
+                if (index > block * BLOCK_SIZE) {
+                    cursor.next();
+                }
+                action.accept(cursor.toString(), index);
+            }
+        }
+    }
+
+    IntBuffer getBlockOffsets() {
+        return blockOffsets;
+    }
+
+    ByteBuffer getData() {
+        return data;
+    }
+
+    /**
+     * @return The amount of memory used by the strings, in bytes.
+     */
+    public long sizeInBytes() {
+        return 4L * blockOffsets.limit() + data.limit();
+    }
+}
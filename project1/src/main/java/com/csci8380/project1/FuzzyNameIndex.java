@@ -0,0 +1,345 @@
+package com.csci8380.project1;
+
+import org.rdfhdt.hdt.listener.ProgressListener;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Typo-tolerant index of every author name in DBLP. Names are normalized by removing accents
+ * and case and sorting their words, so that "Muller Carol" finds "Carol Müller". Each
+ * normalized name is broken into character trigrams, and the names containing each trigram
+ * are stored as CSR arrays, like those of {@link CoauthorshipIndex}. A search gathers
+ * candidates from the rarest trigrams of the query, scores them by trigram similarity, and
+ * re-ranks the best by edit distance. The index can be held on the heap or mapped from a
+ * {@link ConflictSnapshot}.
+ */
+public class FuzzyNameIndex {
+
+    /// Minimum Dice coefficient between the trigrams of a query and a name for the name to
+    /// be a candidate.
+    private static final double MIN_SIMILARITY = 0.5;
+    /// Maximum number of names to score for a single search, as set by the
+    /// `conflict.fuzzy.maxCandidates` property.
+    private static final int MAX_CANDIDATES = Integer.getInteger("conflict.fuzzy.maxCandidates", 50000);
+
+    /// Normalized names, encoded as UTF-8 and concatenated. The name with dense ID `n`, which
+    /// is its index in {@link AuthorNames}, is stored from `keyOffsets[n]` up to
+    /// `keyOffsets[n + 1]`.
+    private final ByteBuffer keys;
+    private final IntBuffer keyOffsets;
+
+    /// Every distinct trigram, sorted in ascending order.
+    private final LongBuffer trigrams;
+    private final IntBuffer trigramNameOffsets;
+    /// Dense IDs of the names containing each trigram, in ascending order.
+    private final IntBuffer trigramNames;
+
+    FuzzyNameIndex(ByteBuffer keys, IntBuffer keyOffsets,
+                   LongBuffer trigrams, IntBuffer trigramNameOffsets, IntBuffer trigramNames) {
+        this.keys = keys;
+        this.keyOffsets = keyOffsets;
+        this.trigrams = trigrams;
+        this.trigramNameOffsets = trigramNameOffsets;
+        this.trigramNames = trigramNames;
+    }
+
+    /**
+     * Builds the index from a table of author names, which can be mapped from a snapshot, so
+     * that the HDT is not needed.
+     * @param names The names to index.
+     * @param listener Receives progress updates as the index is built.
+     * @return The index that it built.
+     */
+    public static FuzzyNameIndex build(AuthorNames names, ProgressListener listener) {
+        listener.notifyProgress(0, "Normalizing names");
+        int numNames = names.size();
+        ByteArrayOutputStream keys = new ByteArrayOutputStream();
+        int[] keyOffsets = new int[numNames + 1];
+        Map<Long, int[]> trigramCounts = new HashMap<>();
+        names.forEach((fullName, name) -> {
+            String key = normalize(fullName);
+            byte[] encoded = key.getBytes(StandardCharsets.UTF_8);
+            keys.write(encoded, 0, encoded.length);
+            keyOffsets[name + 1] = keys.size();
+
+            for (long trigram : trigramsOf(key)) {
+                trigramCounts.computeIfAbsent(trigram, t -> new int[1])[0]++;
+            }
+        });
+        byte[] allKeys = keys.toByteArray();
+
+        listener.notifyProgress(60, "Building trigram index");
+        long[] trigrams = new long[trigramCounts.size()];
+        int numTrigrams = 0;
+        for (long trigram : trigramCounts.keySet()) {
+            trigrams[numTrigrams++] = trigram;
+        }
+        Arrays.sort(trigrams);
+
+        int[] trigramNameOffsets = new int[trigrams.length + 1];
+        for (int i = 0; i < trigrams.length; ++i) {
+            trigramNameOffsets[i + 1] = trigramNameOffsets[i] + trigramCounts.get(trigrams[i])[0];
+        }
+        trigramCounts.clear();
+
+        // Names are added in ascending order, so each list ends up sorted.
+        int[] trigramNames = new int[trigramNameOffsets[trigrams.length]];
+        int[] next = Arrays.copyOf(trigramNameOffsets, trigrams.length);
+        for (int name = 0; name < numNames; ++name) {
+            String key = new String(allKeys, keyOffsets[name], keyOffsets[name + 1] - keyOffsets[name],
+                    StandardCharsets.UTF_8);
+            for (long trigram : trigramsOf(key)) {
+                trigramNames[next[Arrays.binarySearch(trigrams, trigram)]++] = name;
+            }
+        }
+
+        listener.notifyProgress(100, "Built name index");
+        return new FuzzyNameIndex(ByteBuffer.wrap(allKeys), IntBuffer.wrap(keyOffsets), LongBuffer.wrap(trigrams),
+                IntBuffer.wrap(trigramNameOffsets), IntBuffer.wrap(trigramNames));
+    }
+
+    /**
+     * Normalizes a name for fuzzy matching.
+     * @param name The name.
+     * @return The words of the name, without accents, in lower case, and sorted, separated
+     *  by single spaces. Anything that is not a letter is treated as a word break.
+     */
+    static String normalize(String name) {
+        String stripped = Normalizer.normalize(name, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+        String[] words = stripped.toLowerCase(Locale.ROOT).split("[^\\p{L}]+");
+        Arrays.sort(words);
+
+        StringBuilder normalized = new StringBuilder(stripped.length());
+        for (String word : words) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (normalized.length() > 0) {
+                normalized.append(' ');
+            }
+            normalized.append(word);
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Breaks a normalized name into trigrams. The name is padded with a space at each end,
+     * so that the first and last letters form trigrams of their own.
+     * @param key The normalized name.
+     * @return The sorted, distinct trigrams, each packed into the low 48 bits of a long.
+     */
+    static long[] trigramsOf(String key) {
+        if (key.isEmpty()) {
+            return new long[0];
+        }
+
+        String padded = ' ' + key + ' ';
+        long[] trigrams = new long[padded.length() - 2];
+        for (int i = 0; i < trigrams.length; ++i) {
+            trigrams[i] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16)
+                    | padded.charAt(i + 2);
+        }
+        return HdtLookup.sortedDistinct(trigrams, trigrams.length);
+    }
+
+    /**
+     * Counts the trigrams that two sorted lists have in common.
+     */
+    private static int overlap(long[] first, long[] second) {
+        int shared = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                ++i;
+            } else if (first[i] > second[j]) {
+                ++j;
+            } else {
+                ++shared;
+                ++i;
+                ++j;
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * @return The Levenshtein distance between two strings.
+     */
+    static int editDistance(String first, String second) {
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); ++j) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= first.length(); ++i) {
+            current[0] = i;
+            for (int j = 1; j <= second.length(); ++j) {
+                int substitution = previous[j - 1] + (first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[second.length()];
+    }
+
+    private String key(int name) {
+        int start = keyOffsets.get(name);
+        byte[] key = new byte[keyOffsets.get(name + 1) - start];
+        for (int i = 0; i < key.length; ++i) {
+            key[i] = keys.get(start + i);
+        }
+        return new String(key, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return The index of a trigram, or -1 if no name contains it.
+     */
+    private int findTrigram(long trigram) {
+        int low = 0;
+        int high = trigrams.limit() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long value = trigrams.get(middle);
+            if (value < trigram) {
+                low = middle + 1;
+            } else if (value > trigram) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private int postingCount(int trigram) {
+        return trigram < 0 ? 0 : trigramNameOffsets.get(trigram + 1) - trigramNameOffsets.get(trigram);
+    }
+
+    /**
+     * Finds the names most similar to a query.
+     * @param query The name to search for.
+     * @param limit The maximum number of names to return.
+     * @param budgetNanos How long the search may take. Once this runs out, the search stops
+     *  scoring candidates and returns the best ones it has found so far.
+     * @return The dense IDs of the most similar names, best first.
+     */
+    public int[] search(String query, int limit, long budgetNanos) {
+        long deadline = System.nanoTime() + budgetNanos;
+        String queryKey = normalize(query);
+        long[] queryTrigrams = trigramsOf(queryKey);
+        if (queryTrigrams.length == 0 || limit <= 0) {
+            return new int[0];
+        }
+
+        // A name with a high enough similarity must share at least this many trigrams with
+        // the query, so it must contain at least one of the rarest (n - minOverlap + 1).
+        int minOverlap = (int) Math.ceil(MIN_SIMILARITY * queryTrigrams.length / (2 - MIN_SIMILARITY));
+        int numProbes = queryTrigrams.length - Math.max(minOverlap, 1) + 1;
+        Integer[] probes = new Integer[queryTrigrams.length];
+        for (int i = 0; i < queryTrigrams.length; ++i) {
+            probes[i] = findTrigram(queryTrigrams[i]);
+        }
+        Arrays.sort(probes, (a, b) -> Integer.compare(postingCount(a), postingCount(b)));
+
+        int numCandidates = 0;
+        for (int i = 0; i < numProbes; ++i) {
+            numCandidates += postingCount(probes[i]);
+        }
+        int[] candidates = new int[Math.min(numCandidates, MAX_CANDIDATES)];
+        numCandidates = 0;
+        for (int i = 0; i < numProbes && numCandidates < candidates.length; ++i) {
+            if (probes[i] < 0) {
+                continue;
+            }
+            int count = Math.min(postingCount(probes[i]), candidates.length - numCandidates);
+            int start = trigramNameOffsets.get(probes[i]);
+            for (int j = 0; j < count; ++j) {
+                candidates[numCandidates++] = trigramNames.get(start + j);
+            }
+        }
+        candidates = Arrays.stream(candidates, 0, numCandidates).sorted().distinct().toArray();
+
+        // Score the candidates by the Dice coefficient of their trigrams.
+        int[] matches = new int[candidates.length];
+        double[] similarities = new double[candidates.length];
+        int numMatches = 0;
+        for (int i = 0; i < candidates.length; ++i) {
+            if ((i & 0xff) == 0 && System.nanoTime() > deadline) {
+                break;
+            }
+            long[] nameTrigrams = trigramsOf(key(candidates[i]));
+            double similarity = 2.0 * overlap(queryTrigrams, nameTrigrams)
+                    / (queryTrigrams.length + nameTrigrams.length);
+            if (similarity >= MIN_SIMILARITY) {
+                matches[numMatches] = candidates[i];
+                similarities[numMatches++] = similarity;
+            }
+        }
+
+        // Re-rank the most similar names by edit distance.
+        Integer[] ranked = new Integer[numMatches];
+        for (int i = 0; i < numMatches; ++i) {
+            ranked[i] = i;
+        }
+        Arrays.sort(ranked, (a, b) -> Double.compare(similarities[b], similarities[a]));
+        int numRanked = Math.min(numMatches, limit * 4);
+        int[] distances = new int[numMatches];
+        for (int i = 0; i < numRanked; ++i) {
+            distances[ranked[i]] = editDistance(queryKey, key(matches[ranked[i]]));
+        }
+        Arrays.sort(ranked, 0, numRanked, (a, b) -> distances[a] != distances[b]
+                ? Integer.compare(distances[a], distances[b])
+                : Double.compare(similarities[b], similarities[a]));
+
+        int[] best = new int[Math.min(numRanked, limit)];
+        for (int i = 0; i < best.length; ++i) {
+            best[i] = matches[ranked[i]];
+        }
+        return best;
+    }
+
+    public int getNumNames() {
+        return keyOffsets.limit() - 1;
+    }
+
+    ByteBuffer getKeys() {
+        return keys;
+    }
+
+    IntBuffer getKeyOffsets() {
+        return keyOffsets;
+    }
+
+    LongBuffer getTrigrams() {
+        return trigrams;
+    }
+
+    IntBuffer getTrigramNameOffsets() {
+        return trigramNameOffsets;
+    }
+
+    IntBuffer getTrigramNames() {
+        return trigramNames;
+    }
+
+    /**
+     * @return The approximate amount of memory used by the index, in bytes. For an index
+     *  mapped from a snapshot, this memory is in the page cache rather than on the heap.
+     */
+    public long sizeInBytes() {
+        return 8L * trigrams.limit() + keys.limit()
+                + 4L * (keyOffsets.limit() + trigramNameOffsets.limit() + trigramNames.limit());
+    }
+}
@@ -0,0 +1,48 @@
+package com.csci8380.project1;
+
+/**
+ * Model representing the loading state of the DBLP graph.
+ */
+public class GraphStatus {
+    /// Whether the graph is loaded, and warmed up if that is enabled, so that it is ready to
+    /// answer queries.
+    private boolean ready;
+    /// Progress of the load, as a percentage.
+    private float progress;
+    /// Most recent status message from the loader.
+    private String message;
+    /// Description of the error that stopped the load, if any.
+    private String error;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void setReady(boolean ready) {
+        this.ready = ready;
+    }
+
+    public float getProgress() {
+        return progress;
+    }
+
+    public void setProgress(float progress) {
+        this.progress = progress;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
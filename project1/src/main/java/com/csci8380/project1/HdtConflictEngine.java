@@ -0,0 +1,90 @@
+package com.csci8380.project1;
+
+import org.rdfhdt.hdt.hdt.HDT;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Conflict engine that works directly on HDT triple patterns and dictionary IDs,
+ * bypassing SPARQL parsing and the Jena join machinery. It resolves both names to person
+ * IDs, intersects the sorted sets of papers that each person made, and only looks up
+ * titles and years for the papers that they share.
+ */
+public class HdtConflictEngine implements ConflictEngine {
+
+    private final HdtLookup lookup;
+
+    /**
+     * @param hdt The HDT to query.
+     */
+    public HdtConflictEngine(HDT hdt) {
+        this.lookup = new HdtLookup(hdt);
+    }
+
+    /**
+     * Finds the IDs of all the papers made by anyone with a particular name.
+     * @param name The full name of the person.
+     * @return The sorted, distinct paper IDs.
+     */
+    private long[] papersByName(String name) {
+        long[] people = lookup.peopleNamed(name);
+        if (people.length == 1) {
+            return lookup.papersMadeBy(people[0]);
+        }
+
+        // Several people share the name, so merge their papers.
+        long[] papers = new long[0];
+        for (long person : people) {
+            long[] made = lookup.papersMadeBy(person);
+            int numPapers = papers.length;
+            papers = Arrays.copyOf(papers, numPapers + made.length);
+            System.arraycopy(made, 0, papers, numPapers, made.length);
+        }
+        return HdtLookup.sortedDistinct(papers, papers.length);
+    }
+
+    private static long[] intersect(long[] first, long[] second) {
+        long[] shared = new long[Math.min(first.length, second.length)];
+        int numShared = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                ++i;
+            } else if (first[i] > second[j]) {
+                ++j;
+            } else {
+                shared[numShared++] = first[i];
+                ++i;
+                ++j;
+            }
+        }
+        return Arrays.copyOf(shared, numShared);
+    }
+
+    @Override
+    public List<Paper> findCOI(String firstAuthor, String secondAuthor, YearRange years) {
+        List<Paper> papers = new ArrayList<>();
+
+        long[] firstPapers = papersByName(firstAuthor);
+        if (firstPapers.length == 0) {
+            return papers;
+        }
+        long[] secondPapers = papersByName(secondAuthor);
+        Metrics.rowsScanned(firstPapers.length + secondPapers.length);
+        long[] sharedPapers = intersect(firstPapers, secondPapers);
+
+        for (long paperId : sharedPapers) {
+            Paper paper = lookup.paper(paperId);
+            if (paper != null && years.contains(paper.getYear())) {
+                papers.add(paper);
+            }
+        }
+
+        papers.sort(Comparator.comparingInt(Paper::getYear).reversed());
+        return papers;
+    }
+}
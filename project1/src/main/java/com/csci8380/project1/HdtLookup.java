@@ -0,0 +1,228 @@
+package com.csci8380.project1;
+
+import org.rdfhdt.hdt.dictionary.Dictionary;
+import org.rdfhdt.hdt.enums.TripleComponentRole;
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.triples.IteratorTripleID;
+import org.rdfhdt.hdt.triples.TripleID;
+import org.rdfhdt.hdt.triples.Triples;
+
+import java.util.Arrays;
+
+/**
+ * Looks up people and papers from the DBLP vocabulary directly through HDT triple
+ * patterns and dictionary IDs.
+ */
+public class HdtLookup {
+
+    private static final long[] NONE = new long[0];
+
+    private final Dictionary dictionary;
+    private final Triples triples;
+
+    private final long namePredicate;
+    private final long makerPredicate;
+    private final long titlePredicate;
+    private final long issuedPredicate;
+
+    /**
+     * @param hdt The HDT to query.
+     */
+    public HdtLookup(HDT hdt) {
+        this.dictionary = hdt.getDictionary();
+        this.triples = hdt.getTriples();
+
+        this.namePredicate = predicateId(DblpVocabulary.FOAF_NAME);
+        this.makerPredicate = predicateId(DblpVocabulary.FOAF_MAKER);
+        this.titlePredicate = predicateId(DblpVocabulary.ELEMENTS_TITLE);
+        this.issuedPredicate = predicateId(DblpVocabulary.TERMS_ISSUED);
+    }
+
+    private long predicateId(String predicate) {
+        return dictionary.stringToId(predicate, TripleComponentRole.PREDICATE);
+    }
+
+    public Triples getTriples() {
+        return triples;
+    }
+
+    /**
+     * @return The ID of the foaf:maker predicate, or a non-positive value if the dataset
+     *  does not use it.
+     */
+    public long getMakerPredicate() {
+        return makerPredicate;
+    }
+
+    /**
+     * Finds everyone with a particular name. Only people that appear as the object of some
+     * triple are returned, since anyone else cannot have made any papers. For these people,
+     * the ID is the same in the subject and object roles.
+     * @param name The full name of the person.
+     * @return The sorted IDs of the people.
+     */
+    public long[] peopleNamed(String name) {
+        return peopleWithName(dictionary.stringToId(DblpVocabulary.literal(name), TripleComponentRole.OBJECT));
+    }
+
+    /**
+     * Finds everyone with a particular name, as in {@link #peopleNamed(String)}.
+     * @param nameId The object ID of the name literal.
+     * @return The sorted IDs of the people.
+     */
+    public long[] peopleWithName(long nameId) {
+        if (nameId <= 0 || namePredicate <= 0) {
+            return NONE;
+        }
+
+        long[] people = new long[1];
+        int numPeople = 0;
+        IteratorTripleID matches = triples.search(new TripleID(0, namePredicate, nameId));
+        while (matches.hasNext()) {
+            long person = matches.next().getSubject();
+            if (person > dictionary.getNshared()) {
+                // Only IDs in the shared section appear as objects.
+                continue;
+            }
+            if (numPeople == people.length) {
+                people = Arrays.copyOf(people, numPeople * 2);
+            }
+            people[numPeople++] = person;
+        }
+
+        return sortedDistinct(people, numPeople);
+    }
+
+    /**
+     * Finds every literal that is used as a name.
+     * @return The sorted object IDs of the names.
+     */
+    public long[] allNames() {
+        if (namePredicate <= 0) {
+            return NONE;
+        }
+
+        long[] names = new long[1024];
+        int numNames = 0;
+        IteratorTripleID matches = triples.search(new TripleID(0, namePredicate, 0));
+        while (matches.hasNext()) {
+            if (numNames == names.length) {
+                names = Arrays.copyOf(names, numNames * 2);
+            }
+            names[numNames++] = matches.next().getObject();
+        }
+        return sortedDistinct(names, numNames);
+    }
+
+    /**
+     * @param nameId The object ID of a name literal.
+     * @return The name.
+     */
+    public String name(long nameId) {
+        return DblpVocabulary.lexicalForm(objectString(nameId));
+    }
+
+    private String objectString(long objectId) {
+        return dictionary.idToString(objectId, TripleComponentRole.OBJECT).toString();
+    }
+
+    /**
+     * Finds all the papers made by a person.
+     * @param person The ID of the person, as returned by {@link #peopleNamed(String)}.
+     * @return The sorted IDs of the papers.
+     */
+    public long[] papersMadeBy(long person) {
+        if (makerPredicate <= 0) {
+            return NONE;
+        }
+
+        long[] papers = new long[16];
+        int numPapers = 0;
+        IteratorTripleID made = triples.search(new TripleID(0, makerPredicate, person));
+        while (made.hasNext()) {
+            if (numPapers == papers.length) {
+                papers = Arrays.copyOf(papers, numPapers * 2);
+            }
+            papers[numPapers++] = made.next().getSubject();
+        }
+
+        return sortedDistinct(papers, numPapers);
+    }
+
+    /**
+     * Sorts an array in-place and removes duplicate values.
+     * @param values The array to sort.
+     * @param length The number of values in the array that are in use.
+     * @return A sorted copy of the distinct values.
+     */
+    static long[] sortedDistinct(long[] values, int length) {
+        Arrays.sort(values, 0, length);
+        int numDistinct = 0;
+        for (int i = 0; i < length; ++i) {
+            if (numDistinct == 0 || values[i] != values[numDistinct - 1]) {
+                values[numDistinct++] = values[i];
+            }
+        }
+        return Arrays.copyOf(values, numDistinct);
+    }
+
+    /**
+     * Looks up the lexical form of an object for a particular subject and predicate.
+     * @return The first matching object, or null if there is none.
+     */
+    private String objectOf(long subject, long predicate) {
+        if (predicate <= 0) {
+            return null;
+        }
+        IteratorTripleID matches = triples.search(new TripleID(subject, predicate, 0));
+        if (!matches.hasNext()) {
+            return null;
+        }
+        long object = matches.next().getObject();
+        return DblpVocabulary.lexicalForm(dictionary.idToString(object, TripleComponentRole.OBJECT));
+    }
+
+    /**
+     * @param person The ID of a person.
+     * @return The name of the person, or null if they do not have one.
+     */
+    public String nameOf(long person) {
+        return objectOf(person, namePredicate);
+    }
+
+    /**
+     * @param paperId The ID of a paper.
+     * @return The title of the paper, or null if it does not have one.
+     */
+    public String titleOf(long paperId) {
+        return objectOf(paperId, titlePredicate);
+    }
+
+    /**
+     * @param paperId The ID of a paper.
+     * @return The year the paper was published, or 0 if it is not known.
+     */
+    public int yearOf(long paperId) {
+        String year = objectOf(paperId, issuedPredicate);
+        return year != null ? DblpVocabulary.parseYear(year) : 0;
+    }
+
+    /**
+     * Looks up the title and year of a paper.
+     * @param paperId The ID of the paper.
+     * @return The paper, or null if it is missing a title or a year.
+     */
+    public Paper paper(long paperId) {
+        String title = objectOf(paperId, titlePredicate);
+        String year = objectOf(paperId, issuedPredicate);
+        if (title == null || year == null) {
+            // The SPARQL query requires both, so skip the paper for consistency.
+            return null;
+        }
+
+        Paper paper = new Paper();
+        paper.setName(title);
+        paper.setYear(DblpVocabulary.parseYear(year));
+        return paper;
+    }
+}
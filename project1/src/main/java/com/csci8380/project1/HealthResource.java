@@ -0,0 +1,36 @@
+package com.csci8380.project1;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+@Path("/health")
+public class HealthResource {
+
+    /**
+     * Endpoint that reports whether the app is ready to serve conflict checks.
+     * @return The graph loading status, with a 200 status if the graph is loaded (and warmed
+     *  up, if that is enabled), and a 503 status otherwise.
+     */
+    @GET
+    @Path("/ready")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response ready() {
+        GraphStatus status = KnowledgeGraph.getStatus();
+        Response.Status code = status.isReady() ? Response.Status.OK : Response.Status.SERVICE_UNAVAILABLE;
+        return Response.status(code).entity(status).build();
+    }
+
+    /**
+     * Endpoint that reports the statistics of the conflict check result cache.
+     * @return The cache statistics.
+     */
+    @GET
+    @Path("/cache")
+    @Produces(MediaType.APPLICATION_JSON)
+    public CacheStats cache() {
+        return ConflictChecker.getCacheStats();
+    }
+}
@@ -0,0 +1,69 @@
+package com.csci8380.project1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Conflict engine backed by a {@link CoauthorshipIndex}, so that a pair check is a single
+ * sorted-array intersection. Since the papers of each author are in order of year, a range
+ * of years only needs the matching slice of each list. Names are resolved and paper details
+ * are looked up in the index if it was opened from a snapshot, and in the HDT otherwise.
+ */
+public class IndexConflictEngine implements ConflictEngine {
+
+    private final CoauthorshipIndex index;
+    private final HdtLookup lookup;
+
+    /**
+     * @param index The index to query.
+     * @param lookup Lookup for the HDT that the index was built from.
+     */
+    public IndexConflictEngine(CoauthorshipIndex index, HdtLookup lookup) {
+        this.index = index;
+        this.lookup = lookup;
+    }
+
+    private int[] authorsNamed(String name) {
+        return index.hasDetails() ? index.authorsNamed(name) : index.authorIndexes(lookup.peopleNamed(name));
+    }
+
+    @Override
+    public List<Paper> findCOI(String firstAuthor, String secondAuthor, YearRange years) {
+        List<Paper> papers = new ArrayList<>();
+
+        int[] firstAuthors = authorsNamed(firstAuthor);
+        if (firstAuthors.length == 0) {
+            return papers;
+        }
+        int[] secondAuthors = authorsNamed(secondAuthor);
+
+        // Usually each name belongs to a single author, but there may be several.
+        int[] shared = new int[0];
+        int numShared = 0;
+        for (int first : firstAuthors) {
+            for (int second : secondAuthors) {
+                Metrics.rowsScanned(index.paperCount(first) + index.paperCount(second));
+                int[] pairShared = new int[Math.min(index.paperCount(first), index.paperCount(second))];
+                int numPairShared = index.sharedPapers(first, second, years, pairShared);
+                shared = Arrays.copyOf(shared, numShared + numPairShared);
+                System.arraycopy(pairShared, 0, shared, numShared, numPairShared);
+                numShared += numPairShared;
+            }
+        }
+        if (firstAuthors.length > 1 || secondAuthors.length > 1) {
+            shared = Arrays.stream(shared).sorted().distinct().toArray();
+        }
+
+        for (int paperIndex : shared) {
+            Paper paper = index.hasDetails() ? index.paper(paperIndex) : lookup.paper(index.paperId(paperIndex));
+            if (paper != null) {
+                papers.add(paper);
+            }
+        }
+
+        papers.sort(Comparator.comparingInt(Paper::getYear).reversed());
+        return papers;
+    }
+}
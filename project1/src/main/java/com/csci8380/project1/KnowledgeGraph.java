@@ -1,85 +1,622 @@
 package com.csci8380.project1;
 
-import org.apache.jena.query.*;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
 import org.rdfhdt.hdt.hdt.HDT;
 import org.rdfhdt.hdt.hdt.HDTManager;
+import org.rdfhdt.hdt.listener.ProgressListener;
 import org.rdfhdt.hdtjena.HDTGraph;
 
 import java.io.BufferedInputStream;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 
 public class KnowledgeGraph {
-	
-	private static HDT hdt;
-	private static HDTGraph graph;
-	private static Model model;
-	
+
+	private static final Logger LOGGER = Logger.getLogger(KnowledgeGraph.class.getName());
+
+	/// The dataset that answers new queries, or null if none has been loaded yet. Everything
+	/// derived from the HDT lives in the dataset, so a new one is swapped in atomically.
+	private static volatile Dataset dataset;
+
+	/// Maximum time a query may run for, as set by the `dblp.query.timeoutMs` property.
+	private static final long QUERY_TIMEOUT_MILLIS = Long.getLong("dblp.query.timeoutMs", 10000);
+
+	private static final AtomicInteger queryThreadCount = new AtomicInteger();
+	/// Pool that runs all graph queries, so that they do not tie up request threads. It is
+	/// sized by the `dblp.query.threads` property, and at most `dblp.query.queueSize` queries
+	/// may wait for a thread.
+	private static final ThreadPoolExecutor QUERY_POOL;
+	static {
+		int numThreads = Integer.getInteger("dblp.query.threads", Runtime.getRuntime().availableProcessors());
+		QUERY_POOL = new ThreadPoolExecutor(numThreads, numThreads, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(Integer.getInteger("dblp.query.queueSize", 256)),
+				runnable -> {
+					Thread thread = new Thread(runnable, "dblp-query-" + queryThreadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		QUERY_POOL.allowCoreThreadTimeOut(true);
+	}
+
+	/// Number of datasets that have been loaded, used to number each new one.
+	private static long numLoaded = 0;
+
+	/// Set once a background load has been started, so that only one ever runs.
+	private static final AtomicBoolean loadStarted = new AtomicBoolean(false);
+	/// Path of the dataset being swapped in, or null if no swap is running.
+	private static volatile String pendingPath;
+	/// Progress of the current load, as a percentage.
+	private static volatile float loadProgress = 0;
+	/// Most recent status message reported by the loader.
+	private static volatile String loadMessage = "Not started";
+	/// Description of the error that stopped the most recent load, if it failed.
+	private static volatile String loadError;
+	/// When the most recent load failed, from {@link System#nanoTime}, so that the next one
+	/// is not started straight away.
+	private static volatile long loadFailedNanos;
+	/// Set while the graph is being warmed up after the startup load, during which it
+	/// answers queries but does not report that it is ready.
+	private static volatile boolean warmingUp;
+	/// Description of the error that stopped the most recent swap, if there was one.
+	private static volatile String swapError;
+
 	public static Boolean graphIsLoaded() {
-		return model != null;
+		return dataset != null;
+	}
+
+	/**
+	 * @return A number that changes every time a new dataset is loaded.
+	 */
+	public static long getGeneration() {
+		Dataset current = dataset;
+		return current != null ? current.getGeneration() : 0;
+	}
+
+	/**
+	 * @return The generation for a newly loaded dataset, which is higher than that of any
+	 *  dataset loaded before it.
+	 */
+	static synchronized long nextGeneration() {
+		return ++numLoaded;
+	}
+
+	/**
+	 * @return The version of the dataset that answers new queries, or null if the graph is not
+	 *  loaded yet.
+	 */
+	public static String getDatasetVersion() {
+		Dataset current = dataset;
+		return current != null ? current.getVersion() : null;
+	}
+
+	/**
+	 * Gets the current dataset, and holds a reference to it so that it stays usable even if
+	 * a new dataset is swapped in. The reference must be released once it is no longer used.
+	 * @return The current dataset.
+	 * @throws IllegalStateException If the graph is not loaded yet.
+	 */
+	public static Dataset acquireDataset() {
+		while (true) {
+			Dataset current = dataset;
+			if (current == null) {
+				throw new IllegalStateException("The DBLP graph is not loaded yet.");
+			}
+			if (current.retain()) {
+				return current;
+			}
+			// It was replaced and closed in the meantime, so use the new one.
+		}
+	}
+
+	/**
+	 * @return The location of the DBLP HDT file, as configured by the `dblp.path` property.
+	 */
+	public static String getDblpPath() {
+		return System.getProperty("dblp.path", "dblp-20170124.hdt");
+	}
+
+	/**
+	 * @return How long to wait after a failed load before starting another, in seconds, as
+	 *  configured by the `dblp.load.retrySeconds` property.
+	 */
+	private static long getLoadRetrySeconds() {
+		return Long.getLong("dblp.load.retrySeconds", 30);
+	}
+
+	/**
+	 * Starts loading the DBLP graph on a background thread. Calls while a load is running, or
+	 * once one has succeeded, have no effect, so it is safe to call this from every place that
+	 * needs the graph. If the last load failed, the next call after `dblp.load.retrySeconds`
+	 * starts another, so that the graph can still be loaded once the problem is fixed.
+	 */
+	public static void startLoading() {
+		if (loadError != null && System.nanoTime() - loadFailedNanos < TimeUnit.SECONDS.toNanos(getLoadRetrySeconds())) {
+			return;
+		}
+		if (!loadStarted.compareAndSet(false, true)) {
+			return;
+		}
+
+		String dblpPath = getDblpPath();
+		Thread loader = new Thread(() -> {
+			try {
+				loadConfigured(dblpPath);
+			} catch (IOException | RuntimeException | OutOfMemoryError e) {
+				LOGGER.log(Level.SEVERE, "Failed to load DBLP graph from " + dblpPath + ", retrying on the next request after "
+						+ getLoadRetrySeconds() + " s", e);
+			}
+		}, "dblp-loader");
+		loader.setDaemon(true);
+		loader.start();
+	}
+
+	/**
+	 * Loads the DBLP graph on the calling thread, for servers that load it as part of
+	 * starting up. Requests that arrive in the meantime see the same status as during a
+	 * background load, and do not start another one.
+	 * @throws IOException If the file could not be read.
+	 */
+	public static void loadAtStartup() throws IOException {
+		loadStarted.set(true);
+		loadConfigured(getDblpPath());
+	}
+
+	/**
+	 * Loads the graph from the configured path, and then warms it up if {@link WarmUp} is
+	 * enabled. If the load fails, the error is recorded in the load status, and another load
+	 * may be started.
+	 */
+	private static void loadConfigured(String dblpPath) throws IOException {
+		// Set before loading, so that the graph never reports ready before it is warm.
+		warmingUp = WarmUp.isEnabled();
+		try {
+			load(dblpPath);
+		} catch (IOException | RuntimeException | OutOfMemoryError e) {
+			warmingUp = false;
+			loadMessage = "Failed";
+			loadFailedNanos = System.nanoTime();
+			loadError = e.toString();
+			loadStarted.set(false);
+			throw e;
+		}
+		loadError = null;
+		if (!warmingUp) {
+			return;
+		}
+
+		Dataset warmed = acquireDataset();
+		try {
+			WarmUp.run(warmed, (level, message) -> loadMessage = message);
+		} finally {
+			warmed.release();
+			loadMessage = "Loaded";
+			warmingUp = false;
+		}
+	}
+
+	/**
+	 * Starts loading a new dataset on a background thread, which replaces the current one
+	 * once it is ready. Queries keep being answered by the current dataset until then, and
+	 * the ones that are running when it is replaced finish against it.
+	 * @param dblpPath The path to the new HDT file.
+	 * @param snapshotPath The path to a snapshot built from the new file, or null to build
+	 *  the co-authorship index in memory.
+	 * @return False if the graph is not loaded yet, or another swap is already running.
+	 */
+	public static synchronized boolean startSwap(String dblpPath, String snapshotPath) {
+		if (!graphIsLoaded() || pendingPath != null) {
+			return false;
+		}
+
+		pendingPath = dblpPath;
+		swapError = null;
+		Thread loader = new Thread(() -> {
+			try {
+				swap(dblpPath, snapshotPath);
+			} catch (IOException | RuntimeException e) {
+				swapError = e.toString();
+				LOGGER.log(Level.SEVERE, "Failed to swap in DBLP graph from " + dblpPath, e);
+			} finally {
+				pendingPath = null;
+			}
+		}, "dblp-swap");
+		loader.setDaemon(true);
+		loader.start();
+		return true;
+	}
+
+	/**
+	 * @return True if the HDT file should be memory-mapped instead of read onto the heap, as
+	 *  configured by the `dblp.load.mode` property.
+	 */
+	private static boolean useMappedMode() {
+		return "mapped".equalsIgnoreCase(System.getProperty("dblp.load.mode", "heap"));
+	}
+
+	/**
+	 * Loads the DBLP graph, unless it is already loaded. The co-authorship index is opened
+	 * from the snapshot set by the `dblp.snapshot` property, if there is one.
+	 * @param dblpPath The path to the HDT file.
+	 * @throws IOException If the file could not be read.
+	 */
+	public static synchronized void load(String dblpPath) throws IOException {
+		if (graphIsLoaded()) {
+			return;
+		}
+		dataset = loadDataset(dblpPath, System.getProperty("dblp.snapshot"));
+		ConflictETags.datasetChanged(dataset);
+	}
+
+	/**
+	 * Loads a new dataset and makes it current. The previous dataset is closed once the
+	 * queries that are using it finish.
+	 * @param dblpPath The path to the new HDT file.
+	 * @param snapshotPath The path to a snapshot built from the new file, or null to build
+	 *  the co-authorship index in memory.
+	 * @throws IOException If the file could not be read.
+	 */
+	public static void swap(String dblpPath, String snapshotPath) throws IOException {
+		// Loading happens outside of the lock, so that the current dataset stays available.
+		Dataset loaded = loadDataset(dblpPath, snapshotPath);
+
+		Dataset previous;
+		synchronized (KnowledgeGraph.class) {
+			previous = dataset;
+			dataset = loaded;
+			ConflictETags.datasetChanged(loaded);
+		}
+		LOGGER.info("Swapped in dataset " + loaded.getVersion() + " (generation " + loaded.getGeneration()
+				+ ")" + (previous != null ? " in place of " + previous.getVersion() : ""));
+		if (previous != null) {
+			previous.release();
+		}
 	}
-	
-	public static void load(InputStream input) throws IOException {
+
+	/**
+	 * Loads a dataset. In "heap" mode (the default), the whole HDT file is read onto the
+	 * heap, and the object index that name lookups need is generated there. In "mapped" mode, the file is memory-mapped along with its `.hdt.index` sidecar
+	 * (which is generated next to it if it does not exist yet), so the data lives in the OS
+	 * page cache and can be shared between processes.
+	 * @param dblpPath The path to the HDT file.
+	 * @param snapshotPath The path to a snapshot to open the co-authorship index from, or
+	 *  null to build it in memory.
+	 * @return The dataset.
+	 * @throws IOException If the file could not be read.
+	 */
+	private static Dataset loadDataset(String dblpPath, String snapshotPath) throws IOException {
+		ProgressListener listener = (level, message) -> {
+			loadProgress = level;
+			loadMessage = message;
+		};
+		boolean mapped = useMappedMode();
+		long startTime = System.nanoTime();
+
 		/* Load dblp.hdt file */
-        KnowledgeGraph.hdt = HDTManager.loadHDT(new BufferedInputStream(input), null);
-        KnowledgeGraph.graph = new HDTGraph(hdt, true);
-        KnowledgeGraph.model = ModelFactory.createModelForGraph(graph);
-	}
-
-    private static List<String> queryGraph(Query query) {
-        QueryExecution queryExecution = QueryExecutionFactory.create(query, KnowledgeGraph.model);
-        ResultSet resultSet = queryExecution.execSelect();
-        List<String> solu_list = new ArrayList<String>();
-        while (resultSet.hasNext()) {
-        	String next = resultSet.next().toString();
-            solu_list.add(next);
-        }
-        return solu_list;
-    }
-
-    public static List<Paper> findCOI(String author_1, String author_2) {
-   
-        /* Initialize some variables */
-        List<String> solutions = new ArrayList<String>(); 
-        List<Paper> papers = new ArrayList<Paper>();
-
-        /* SPARQL query sentences */
-        Query query_1 = QueryFactory.create(
-                "PREFIX elements: <http://purl.org/dc/elements/1.1/>"
-                + " PREFIX terms: <http://purl.org/dc/terms/>"
-                + " PREFIX foaf: <http://xmlns.com/foaf/0.1/>"
-                + " SELECT ?title ?year WHERE {"
-                + "  ?paper elements:title ?title ."
-                + "  ?paper terms:issued ?year ."
-                + "  ?paper foaf:maker ?person1 ."
-                + "  ?paper foaf:maker ?person2 ."
-                + "  ?person1 foaf:name \"" + author_1 + "\" ."
-                + "  ?person2 foaf:name \"" + author_2 + "\" ."
-                + "}"
-                + " ORDER BY DESC(?year)",
-                Syntax.syntaxSPARQL_11
-        );
-
-        /* Do query */
-        solutions = queryGraph(query_1);
-
-        /* Format output lists */
-        for (String element: solutions) {
-            String[] splitElement = element.split("\"");
-            Paper paper = new Paper();
-            paper.setName(splitElement[3]);
-            paper.setYear(Integer.parseInt(splitElement[1]));
-            papers.add(paper);
-        }
-        
-        System.out.println("Found " + solutions.size() + " conflicts.");
-
-        return papers;
-    }
-
-}
\ No newline at end of file
+		HDT loadedHdt;
+		if (mapped) {
+			loadedHdt = HDTManager.mapIndexedHDT(dblpPath, listener);
+		} else {
+			try (InputStream input = new BufferedInputStream(new FileInputStream(dblpPath))) {
+				loadedHdt = HDTManager.loadIndexedHDT(input, listener);
+			}
+		}
+		HDTGraph loadedGraph = new HDTGraph(loadedHdt, true);
+		Model loadedModel = ModelFactory.createModelForGraph(loadedGraph);
+
+		long loadMillis = (System.nanoTime() - startTime) / 1_000_000;
+		Runtime runtime = Runtime.getRuntime();
+		long heapUsed = runtime.totalMemory() - runtime.freeMemory();
+		LOGGER.info(String.format("Loaded DBLP graph from %s in %d ms (mode: %s, resident: %d MB, heap used: %d MB)",
+				dblpPath, loadMillis, mapped ? "mapped" : "heap",
+				residentMemoryBytes() >> 20, heapUsed >> 20));
+
+		HdtLookup lookup = new HdtLookup(loadedHdt);
+		long indexStartTime = System.nanoTime();
+		CoauthorshipIndex index = null;
+		FuzzyNameIndex snapshotFuzzyIndex = null;
+		if (snapshotPath != null) {
+			try {
+				ConflictSnapshot snapshot = ConflictSnapshot.open(Paths.get(snapshotPath), Paths.get(dblpPath));
+				index = snapshot.getIndex();
+				snapshotFuzzyIndex = snapshot.getFuzzyIndex();
+				LOGGER.info(String.format("Opened co-authorship snapshot of %d papers and %d authors from %s in %d ms",
+						index.getNumPapers(), index.getNumAuthors(), snapshotPath,
+						(System.nanoTime() - indexStartTime) / 1_000_000));
+			} catch (IOException e) {
+				LOGGER.log(Level.WARNING, "Could not use snapshot " + snapshotPath + ", building the index instead", e);
+			}
+		}
+		if (index == null) {
+			index = CoauthorshipIndex.build(lookup, listener);
+			LOGGER.info(String.format("Built co-authorship index of %d papers and %d authors in %d ms (%d MB)",
+					index.getNumPapers(), index.getNumAuthors(),
+					(System.nanoTime() - indexStartTime) / 1_000_000, index.sizeInBytes() >> 20));
+		}
+
+		if (index.getNames() == null) {
+			long namesStartTime = System.nanoTime();
+			listener.notifyProgress(0, "Reading author names");
+			index.setNames(AuthorNames.build(lookup, index));
+			LOGGER.info(String.format("Read %d author names in %d ms",
+					index.getNames().size(), (System.nanoTime() - namesStartTime) / 1_000_000));
+		}
+
+		long suggesterStartTime = System.nanoTime();
+		listener.notifyProgress(0, "Ranking author names");
+		AuthorSuggester suggester = AuthorSuggester.build(index.getNames(), index);
+		LOGGER.info(String.format("Ranked %d author names for suggestions in %d ms (%d MB)",
+				index.getNames().size(), (System.nanoTime() - suggesterStartTime) / 1_000_000,
+				suggester.sizeInBytes() >> 20));
+
+		FuzzyNameIndex fuzzyIndex = null;
+		if (Boolean.parseBoolean(System.getProperty("dblp.fuzzyIndex", "true"))) {
+			if (snapshotFuzzyIndex != null) {
+				fuzzyIndex = snapshotFuzzyIndex;
+			} else {
+				long fuzzyStartTime = System.nanoTime();
+				fuzzyIndex = FuzzyNameIndex.build(index.getNames(), listener);
+				LOGGER.info(String.format("Built fuzzy name index of %d names in %d ms (%d MB)",
+						fuzzyIndex.getNumNames(), (System.nanoTime() - fuzzyStartTime) / 1_000_000,
+						fuzzyIndex.sizeInBytes() >> 20));
+			}
+		}
+
+		ConflictEngine engine = createEngine(loadedHdt, loadedModel, lookup, index);
+		Metrics.datasetLoaded(System.nanoTime() - startTime, residentMemoryBytes(),
+				runtime.totalMemory() - runtime.freeMemory(), index.sizeInBytes(),
+				(fuzzyIndex != null ? fuzzyIndex.sizeInBytes() : 0) + suggester.sizeInBytes());
+		long generation = nextGeneration();
+
+		loadProgress = 100;
+		loadMessage = "Loaded";
+		return new Dataset(dblpPath, Dataset.fingerprintOf(dblpPath), generation, loadedHdt, loadedModel, lookup, index, fuzzyIndex, suggester, engine);
+	}
+
+	/**
+	 * @return The resident set size of this process in bytes, or -1 if it is not available
+	 *  on this platform.
+	 */
+	private static long residentMemoryBytes() {
+		try {
+			for (String line : Files.readAllLines(Paths.get("/proc/self/status"))) {
+				if (line.startsWith("VmRSS:")) {
+					// Formatted like "VmRSS:    123456 kB".
+					String[] fields = line.trim().split("\\s+");
+					return Long.parseLong(fields[1]) * 1024;
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			LOGGER.log(Level.FINE, "Could not read resident memory", e);
+		}
+		return -1;
+	}
+
+	/**
+	 * @return The number of threads in the query pool.
+	 */
+	public static int getQueryThreads() {
+		return QUERY_POOL.getMaximumPoolSize();
+	}
+
+	/**
+	 * @return The number of queries that the query pool can hold at once, counting both the
+	 *  ones that are running and the ones that are waiting for a thread. Any more are rejected.
+	 */
+	public static int getQueryCapacity() {
+		return QUERY_POOL.getMaximumPoolSize() + QUERY_POOL.getQueue().size() + QUERY_POOL.getQueue().remainingCapacity();
+	}
+
+	/**
+	 * @return The number of queries running on the query pool.
+	 */
+	public static int getActiveQueries() {
+		return QUERY_POOL.getActiveCount();
+	}
+
+	/**
+	 * @return The number of queries waiting for a thread in the query pool.
+	 */
+	public static int getQueuedQueries() {
+		return QUERY_POOL.getQueue().size();
+	}
+
+	/**
+	 * @return The current state of the graph load.
+	 */
+	public static GraphStatus getStatus() {
+		GraphStatus status = new GraphStatus();
+		status.setReady(graphIsLoaded() && !warmingUp);
+		status.setProgress(loadProgress);
+		status.setMessage(loadMessage);
+		status.setError(loadError);
+		return status;
+	}
+
+	/**
+	 * @return The current dataset, and the state of any swap.
+	 */
+	public static DatasetStatus getDatasetStatus() {
+		DatasetStatus status = new DatasetStatus();
+		Dataset current = dataset;
+		if (current != null) {
+			status.setVersion(current.getVersion());
+			status.setPath(current.getPath());
+			status.setGeneration(current.getGeneration());
+		}
+		String pending = pendingPath;
+		status.setPendingPath(pending);
+		if (pending != null) {
+			status.setProgress(loadProgress);
+			status.setMessage(loadMessage);
+		}
+		status.setError(swapError);
+		return status;
+	}
+
+	/**
+	 * Creates the engine that answers conflict checks, as configured by the `dblp.engine`
+	 * property. This can be "sparql" (the default), "native" to query HDT triple patterns
+	 * directly, "index" to use the co-authorship index, or "compare" to answer with SPARQL
+	 * while checking the native engine against it.
+	 */
+	private static ConflictEngine createEngine(HDT hdt, Model model, HdtLookup lookup, CoauthorshipIndex index) {
+		String engineName = System.getProperty("dblp.engine", "sparql");
+		switch (engineName.toLowerCase()) {
+			case "native":
+				return new HdtConflictEngine(hdt);
+			case "index":
+				return new IndexConflictEngine(index, lookup);
+			case "compare":
+				return new ComparingConflictEngine(new SparqlConflictEngine(model), new HdtConflictEngine(hdt));
+			case "sparql":
+				return new SparqlConflictEngine(model);
+			default:
+				LOGGER.warning("Unknown conflict engine '" + engineName + "', using SPARQL.");
+				return new SparqlConflictEngine(model);
+		}
+	}
+
+	/**
+	 * Finds all the papers that two researchers have co-authored. The query runs on the
+	 * query pool, and is cancelled if it does not finish within the query timeout, or if
+	 * the calling thread is interrupted.
+	 * @param dataset The dataset to query, which the caller holds a reference to.
+	 * @param author_1 The full name of the first researcher.
+	 * @param author_2 The full name of the second researcher.
+	 * @param years The years to include papers from.
+	 * @return The shared papers, most recent first.
+	 * @throws QueryTimeoutException If the query timed out.
+	 * @throws RejectedExecutionException If the query pool is full.
+	 * @throws CancellationException If the calling thread was interrupted.
+	 */
+	public static List<Paper> findCOI(Dataset dataset, String author_1, String author_2, YearRange years) {
+		return runQuery(dataset, Metrics.QueryType.COI, d -> d.getEngine().findCOI(author_1, author_2, years));
+	}
+
+	/**
+	 * Finds the shortest chains of co-authors that link two researchers, as in
+	 * {@link Dataset#findPaths}. The search runs on the query pool, like {@link #findCOI}.
+	 * @param dataset The dataset to search, which the caller holds a reference to.
+	 * @param author_1 The full name of the first researcher.
+	 * @param author_2 The full name of the second researcher.
+	 * @param maxHops The maximum number of papers in a chain.
+	 * @param maxPaths The maximum number of chains to return.
+	 * @param maxVisited The maximum number of authors to visit from each end.
+	 * @param years The years to follow papers from.
+	 * @return The chains, which each pass through a different co-author. This is empty if
+	 *  there is no chain within `maxHops`.
+	 * @throws QueryTimeoutException If the search timed out.
+	 * @throws RejectedExecutionException If the query pool is full.
+	 * @throws CancellationException If the calling thread was interrupted.
+	 */
+	public static List<CollaborationPath> findPaths(Dataset dataset, String author_1, String author_2,
+													int maxHops, int maxPaths, int maxVisited, YearRange years) {
+		return runQuery(dataset, Metrics.QueryType.PATHS, d -> d.findPaths(author_1, author_2, maxHops, maxPaths, maxVisited, years));
+	}
+
+	/**
+	 * Indexes the submissions of a conflict matrix by the papers of their authors, as in
+	 * {@link ConflictMatrix#prepare}. This runs on the query pool, like {@link #findCOI}.
+	 * @param dataset The dataset to search, which the caller holds a reference to.
+	 * @param submissions The submissions.
+	 * @return The matrix, whose rows are computed with {@link #findConflictRows}.
+	 * @throws QueryTimeoutException If indexing the submissions timed out.
+	 * @throws RejectedExecutionException If the query pool is full.
+	 * @throws CancellationException If the calling thread was interrupted.
+	 */
+	public static ConflictMatrix prepareConflictMatrix(Dataset dataset, List<Submission> submissions) {
+		return runQuery(dataset, Metrics.QueryType.MATRIX, d -> ConflictMatrix.prepare(d, submissions));
+	}
+
+	/**
+	 * Checks some reviewers against every submission of a conflict matrix, as in
+	 * {@link ConflictMatrix#computeRows}. Each call is a separate query on the query pool,
+	 * with its own timeout.
+	 * @param dataset The dataset that the matrix was prepared against, which the caller holds
+	 *  a reference to.
+	 * @param matrix The matrix.
+	 * @param reviewers The full names of the reviewers.
+	 * @return The cells with a conflict.
+	 * @throws QueryTimeoutException If the rows timed out.
+	 * @throws RejectedExecutionException If the query pool is full.
+	 * @throws CancellationException If the calling thread was interrupted.
+	 */
+	public static List<MatrixCell> findConflictRows(Dataset dataset, ConflictMatrix matrix, List<String> reviewers) {
+		return runQuery(dataset, Metrics.QueryType.MATRIX, d -> matrix.computeRows(d, reviewers));
+	}
+
+	/**
+	 * Runs a query on the query pool. It is cancelled if it does not finish within the query
+	 * timeout, or if the calling thread is interrupted. The query holds its own reference to
+	 * the dataset, since it may keep running briefly after it is cancelled.
+	 * @param dataset The dataset to query.
+	 * @param type The type of the query, for the metrics.
+	 * @param query The query to run.
+	 * @return The result of the query.
+	 * @throws QueryTimeoutException If the query timed out.
+	 * @throws RejectedExecutionException If the query pool is full.
+	 * @throws CancellationException If the calling thread was interrupted.
+	 */
+	private static <T> T runQuery(Dataset dataset, Metrics.QueryType type, Function<Dataset, T> query) {
+		if (!dataset.retain()) {
+			throw new IllegalStateException("Dataset " + dataset.getVersion() + " has already been closed.");
+		}
+		// Whichever of the query and this thread claims the reference first releases it, so
+		// that it is still released if the query is cancelled before it starts.
+		AtomicBoolean claimed = new AtomicBoolean();
+		Callable<T> task = () -> {
+			if (!claimed.compareAndSet(false, true)) {
+				throw new CancellationException("The query was cancelled before it started.");
+			}
+			long startNanos = Metrics.queryStarted();
+			try {
+				return query.apply(dataset);
+			} finally {
+				Metrics.queryFinished(type, startNanos);
+				dataset.release();
+			}
+		};
+
+		try {
+			Future<T> future = QUERY_POOL.submit(task);
+			try {
+				return future.get(QUERY_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				future.cancel(true);
+				throw new QueryTimeoutException(QUERY_TIMEOUT_MILLIS);
+			} catch (InterruptedException e) {
+				future.cancel(true);
+				Thread.currentThread().interrupt();
+				throw new CancellationException("Interrupted while waiting for the query.");
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				throw cause instanceof RuntimeException ? (RuntimeException) cause : new RuntimeException(cause);
+			}
+		} finally {
+			if (claimed.compareAndSet(false, true)) {
+				dataset.release();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,47 @@
+package com.csci8380.project1;
+
+/**
+ * Model representing a conflict between a reviewer and a submission.
+ */
+public class MatrixCell {
+    /// Full name of the reviewer, as given in the request.
+    private String reviewer;
+    /// Identifier of the submission.
+    private String submission;
+    /// Level of conflict-of-interest present.
+    private ConflictLevel level;
+    /// Number of papers the reviewer shares with the submission's authors.
+    private int sharedPapers;
+
+    public String getReviewer() {
+        return reviewer;
+    }
+
+    public void setReviewer(String reviewer) {
+        this.reviewer = reviewer;
+    }
+
+    public String getSubmission() {
+        return submission;
+    }
+
+    public void setSubmission(String submission) {
+        this.submission = submission;
+    }
+
+    public ConflictLevel getLevel() {
+        return level;
+    }
+
+    public void setLevel(ConflictLevel level) {
+        this.level = level;
+    }
+
+    public int getSharedPapers() {
+        return sharedPapers;
+    }
+
+    public void setSharedPapers(int sharedPapers) {
+        this.sharedPapers = sharedPapers;
+    }
+}
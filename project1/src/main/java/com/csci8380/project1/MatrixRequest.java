@@ -0,0 +1,30 @@
+package com.csci8380.project1;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Model representing a request to check every reviewer against every submission.
+ */
+public class MatrixRequest {
+    /// Full names of the reviewers.
+    private List<String> reviewers = new ArrayList<>();
+    /// Submissions to check the reviewers against.
+    private List<Submission> submissions = new ArrayList<>();
+
+    public List<String> getReviewers() {
+        return reviewers;
+    }
+
+    public void setReviewers(List<String> reviewers) {
+        this.reviewers = reviewers;
+    }
+
+    public List<Submission> getSubmissions() {
+        return submissions;
+    }
+
+    public void setSubmissions(List<Submission> submissions) {
+        this.submissions = submissions;
+    }
+}
@@ -0,0 +1,405 @@
+package com.csci8380.project1;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Collects metrics about conflict checks, graph queries and the loaded dataset. Recording
+ * only updates striped counters, so it is lock-free and does not allocate, and can be left
+ * on in production. The metrics are exposed in the Prometheus text format by
+ * {@link MetricsResource}, and as the `com.csci8380.project1:type=ConflictMetrics` MXBean.
+ */
+public final class Metrics implements ConflictMetricsMXBean {
+
+    private static final Logger LOGGER = Logger.getLogger(Metrics.class.getName());
+
+    /**
+     * Kinds of query that run on the query pool.
+     */
+    public enum QueryType {
+        /// Finding the papers that two researchers share.
+        COI,
+        /// Searching for chains of co-authors.
+        PATHS,
+        /// Checking every reviewer against every submission.
+        MATRIX
+    }
+
+    /**
+     * Histogram with fixed buckets. Each bucket counts the values up to and including its
+     * bound that are above the previous bound, and the last counts everything else.
+     */
+    static final class Histogram {
+        private final long[] bounds;
+        private final LongAdder[] counts;
+        private final LongAdder sum = new LongAdder();
+
+        Histogram(long... bounds) {
+            this.bounds = bounds;
+            this.counts = new LongAdder[bounds.length + 1];
+            for (int i = 0; i < counts.length; ++i) {
+                counts[i] = new LongAdder();
+            }
+        }
+
+        void record(long value) {
+            int bucket = 0;
+            while (bucket < bounds.length && value > bounds[bucket]) {
+                ++bucket;
+            }
+            counts[bucket].increment();
+            sum.add(value);
+        }
+
+        long count() {
+            long count = 0;
+            for (LongAdder bucket : counts) {
+                count += bucket.sum();
+            }
+            return count;
+        }
+
+        long sum() {
+            return sum.sum();
+        }
+
+        /**
+         * Writes the histogram in the Prometheus text format.
+         * @param out Where to write it.
+         * @param name The name of the metric.
+         * @param labels Labels to add to each sample, such as `level="LOW"`, or an empty string.
+         * @param scale The unit of the metric, in units of the recorded values.
+         */
+        void write(StringBuilder out, String name, String labels, double scale) {
+            String separator = labels.isEmpty() ? "" : ",";
+            long cumulative = 0;
+            for (int i = 0; i < bounds.length; ++i) {
+                cumulative += counts[i].sum();
+                out.append(name).append("_bucket{").append(labels).append(separator)
+                        .append("le=\"").append(formatNumber(bounds[i] / scale)).append("\"} ")
+                        .append(cumulative).append('\n');
+            }
+            cumulative += counts[bounds.length].sum();
+            out.append(name).append("_bucket{").append(labels).append(separator).append("le=\"+Inf\"} ")
+                    .append(cumulative).append('\n');
+            String braced = labels.isEmpty() ? "" : "{" + labels + "}";
+            out.append(name).append("_sum").append(braced).append(' ').append(formatNumber(sum() / scale)).append('\n');
+            out.append(name).append("_count").append(braced).append(' ').append(cumulative).append('\n');
+        }
+    }
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /// Bounds for latency histograms, in nanoseconds.
+    private static final long[] LATENCY_BOUNDS = {
+            TimeUnit.MICROSECONDS.toNanos(100), TimeUnit.MICROSECONDS.toNanos(250), TimeUnit.MICROSECONDS.toNanos(500),
+            TimeUnit.MILLISECONDS.toNanos(1), TimeUnit.MILLISECONDS.toNanos(2), TimeUnit.MILLISECONDS.toNanos(5),
+            TimeUnit.MILLISECONDS.toNanos(10), TimeUnit.MILLISECONDS.toNanos(25), TimeUnit.MILLISECONDS.toNanos(50),
+            TimeUnit.MILLISECONDS.toNanos(100), TimeUnit.MILLISECONDS.toNanos(250), TimeUnit.MILLISECONDS.toNanos(500),
+            TimeUnit.SECONDS.toNanos(1), TimeUnit.SECONDS.toNanos(2), TimeUnit.SECONDS.toNanos(5),
+            TimeUnit.SECONDS.toNanos(10),
+    };
+    /// Bounds for the histograms of rows scanned per query.
+    private static final long[] ROW_BOUNDS = {1, 10, 100, 1000, 10000, 100000, 1000000, 10000000};
+
+    /// Latency of conflict checks, indexed by the ordinal of their level.
+    private static final Histogram[] CHECK_DURATION = new Histogram[ConflictLevel.values().length];
+    /// Latency of the queries run for conflict checks, indexed by the ordinal of their type.
+    private static final Histogram[] QUERY_DURATION = new Histogram[QueryType.values().length];
+    /// Rows scanned by each query, indexed by the ordinal of their type.
+    private static final Histogram[] QUERY_ROWS = new Histogram[QueryType.values().length];
+    static {
+        for (int i = 0; i < CHECK_DURATION.length; ++i) {
+            CHECK_DURATION[i] = new Histogram(LATENCY_BOUNDS);
+        }
+        for (int i = 0; i < QUERY_DURATION.length; ++i) {
+            QUERY_DURATION[i] = new Histogram(LATENCY_BOUNDS);
+            QUERY_ROWS[i] = new Histogram(ROW_BOUNDS);
+        }
+    }
+    /// Time taken to write response bodies.
+    private static final Histogram SERIALIZATION_DURATION = new Histogram(LATENCY_BOUNDS);
+
+    private static final AtomicInteger CHECKS_IN_FLIGHT = new AtomicInteger();
+    /// Number of conflict checks that failed with an exception.
+    private static final LongAdder CHECK_ERRORS = new LongAdder();
+
+    /// Rows scanned so far by the query running on each thread. It is a one-element array,
+    /// so that counting does not allocate.
+    private static final ThreadLocal<long[]> ROWS_SCANNED = ThreadLocal.withInitial(() -> new long[1]);
+
+    /// Statistics of the most recent dataset load.
+    private static volatile long loadNanos;
+    private static volatile long residentBytes = -1;
+    private static volatile long heapUsedBytes;
+    private static volatile long indexBytes;
+    private static volatile long nameIndexBytes;
+    private static final LongAdder LOADS = new LongAdder();
+
+    private static final String OBJECT_NAME = "com.csci8380.project1:type=ConflictMetrics";
+    static {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                // Left over from a previous deployment in the same JVM.
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(new Metrics(), name);
+        } catch (JMException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Could not register metrics MXBean", e);
+        }
+    }
+
+    private Metrics() {}
+
+    /**
+     * Records that a conflict check has started.
+     * @return The time it started, to pass to {@link #checkFinished}.
+     */
+    public static long checkStarted() {
+        CHECKS_IN_FLIGHT.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Records that a conflict check has finished.
+     * @param startNanos The time that {@link #checkStarted()} returned.
+     * @param result The result of the check, or null if it failed.
+     */
+    public static void checkFinished(long startNanos, ConflictCheckResult result) {
+        CHECKS_IN_FLIGHT.decrementAndGet();
+        if (result == null || result.getLevel() == null) {
+            CHECK_ERRORS.increment();
+            return;
+        }
+        CHECK_DURATION[result.getLevel().ordinal()].record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Records that a query has started on this thread.
+     * @return The time it started, to pass to {@link #queryFinished}.
+     */
+    public static long queryStarted() {
+        ROWS_SCANNED.get()[0] = 0;
+        return System.nanoTime();
+    }
+
+    /**
+     * Records that the query running on this thread has finished, along with the rows it
+     * scanned.
+     * @param type The type of the query.
+     * @param startNanos The time that {@link #queryStarted()} returned.
+     */
+    public static void queryFinished(QueryType type, long startNanos) {
+        QUERY_DURATION[type.ordinal()].record(System.nanoTime() - startNanos);
+        QUERY_ROWS[type.ordinal()].record(ROWS_SCANNED.get()[0]);
+    }
+
+    /**
+     * Counts rows scanned by the query running on this thread. What a row is depends on the
+     * engine: a SPARQL solution, a paper read from the HDT, or an entry of the co-authorship
+     * index.
+     * @param rows The number of rows.
+     */
+    public static void rowsScanned(long rows) {
+        ROWS_SCANNED.get()[0] += rows;
+    }
+
+    /**
+     * Records the time taken to write a response body.
+     * @param nanos The time, in nanoseconds.
+     */
+    public static void serialized(long nanos) {
+        SERIALIZATION_DURATION.record(nanos);
+    }
+
+    /**
+     * Records the statistics of a dataset that was loaded.
+     * @param nanos How long the load took, including building the indexes.
+     * @param resident The resident set size of the process afterwards, or -1 if it is not
+     *  known.
+     * @param heapUsed The heap in use afterwards.
+     * @param index The size of the co-authorship index.
+     * @param nameIndex The size of the author suggester and the fuzzy name index, if it is
+     *  enabled.
+     */
+    public static void datasetLoaded(long nanos, long resident, long heapUsed, long index, long nameIndex) {
+        loadNanos = nanos;
+        residentBytes = resident;
+        heapUsedBytes = heapUsed;
+        indexBytes = index;
+        nameIndexBytes = nameIndex;
+        LOADS.increment();
+    }
+
+    /**
+     * Writes every metric in the Prometheus text format.
+     * @return The metrics.
+     */
+    public static String toPrometheus() {
+        StringBuilder out = new StringBuilder(16384);
+
+        out.append("# HELP conflict_check_duration_seconds Latency of conflict checks, by conflict level.\n");
+        out.append("# TYPE conflict_check_duration_seconds histogram\n");
+        for (ConflictLevel level : ConflictLevel.values()) {
+            CHECK_DURATION[level.ordinal()].write(out, "conflict_check_duration_seconds",
+                    "level=\"" + level + "\"", NANOS_PER_SECOND);
+        }
+        gauge(out, "conflict_checks_in_flight", "Conflict checks that are running.", CHECKS_IN_FLIGHT.get());
+        counter(out, "conflict_check_errors_total", "Conflict checks that failed.", CHECK_ERRORS.sum());
+
+        out.append("# HELP dblp_query_duration_seconds Time spent executing graph queries, by type.\n");
+        out.append("# TYPE dblp_query_duration_seconds histogram\n");
+        for (QueryType type : QueryType.values()) {
+            QUERY_DURATION[type.ordinal()].write(out, "dblp_query_duration_seconds",
+                    "query=\"" + type.name().toLowerCase(Locale.ROOT) + "\"", NANOS_PER_SECOND);
+        }
+        out.append("# HELP dblp_query_rows_scanned Rows scanned by each graph query, by type.\n");
+        out.append("# TYPE dblp_query_rows_scanned histogram\n");
+        for (QueryType type : QueryType.values()) {
+            QUERY_ROWS[type.ordinal()].write(out, "dblp_query_rows_scanned",
+                    "query=\"" + type.name().toLowerCase(Locale.ROOT) + "\"", 1);
+        }
+        gauge(out, "dblp_query_pool_active", "Queries running on the query pool.", KnowledgeGraph.getActiveQueries());
+        gauge(out, "dblp_query_pool_queued", "Queries waiting for a thread.", KnowledgeGraph.getQueuedQueries());
+
+        out.append("# HELP http_response_serialization_seconds Time spent writing response bodies.\n");
+        out.append("# TYPE http_response_serialization_seconds histogram\n");
+        SERIALIZATION_DURATION.write(out, "http_response_serialization_seconds", "", NANOS_PER_SECOND);
+
+        CacheStats cache = ConflictChecker.getCacheStats();
+        gauge(out, "conflict_cache_size", "Entries in the result cache.", cache.getSize());
+        counter(out, "conflict_cache_hits_total", "Result cache hits.", cache.getHits());
+        counter(out, "conflict_cache_misses_total", "Result cache misses.", cache.getMisses());
+        counter(out, "conflict_cache_evictions_total", "Result cache evictions.", cache.getEvictions());
+
+        counter(out, "dblp_loads_total", "Datasets that have been loaded.", LOADS.sum());
+        gauge(out, "dblp_dataset_generation", "Generation of the current dataset.", KnowledgeGraph.getGeneration());
+        gauge(out, "dblp_load_duration_seconds", "Time taken to load the most recent dataset.",
+                loadNanos / NANOS_PER_SECOND);
+        gauge(out, "dblp_resident_memory_bytes", "Resident memory after the most recent load.", residentBytes);
+        gauge(out, "dblp_heap_used_bytes", "Heap in use after the most recent load.", heapUsedBytes);
+        gauge(out, "dblp_index_bytes", "Size of the co-authorship index.", indexBytes);
+        gauge(out, "dblp_name_index_bytes", "Size of the author suggester and fuzzy name index.", nameIndexBytes);
+        return out.toString();
+    }
+
+    private static void gauge(StringBuilder out, String name, String help, double value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" gauge\n");
+        out.append(name).append(' ').append(formatNumber(value)).append('\n');
+    }
+
+    private static void counter(StringBuilder out, String name, String help, long value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" counter\n");
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static String formatNumber(double value) {
+        return value == Math.rint(value) && Math.abs(value) < 1e15 ? Long.toString((long) value) : Double.toString(value);
+    }
+
+    private static double meanMillis(Histogram histogram) {
+        long count = histogram.count();
+        return count == 0 ? 0 : histogram.sum() / 1e6 / count;
+    }
+
+    @Override
+    public long getChecks() {
+        long checks = 0;
+        for (Histogram histogram : CHECK_DURATION) {
+            checks += histogram.count();
+        }
+        return checks;
+    }
+
+    @Override
+    public Map<String, Long> getChecksByLevel() {
+        Map<String, Long> checks = new LinkedHashMap<>();
+        for (ConflictLevel level : ConflictLevel.values()) {
+            checks.put(level.name(), CHECK_DURATION[level.ordinal()].count());
+        }
+        return checks;
+    }
+
+    @Override
+    public int getChecksInFlight() {
+        return CHECKS_IN_FLIGHT.get();
+    }
+
+    @Override
+    public long getCheckErrors() {
+        return CHECK_ERRORS.sum();
+    }
+
+    @Override
+    public double getMeanCheckMillis() {
+        long count = 0;
+        long sum = 0;
+        for (Histogram histogram : CHECK_DURATION) {
+            count += histogram.count();
+            sum += histogram.sum();
+        }
+        return count == 0 ? 0 : sum / 1e6 / count;
+    }
+
+    @Override
+    public Map<String, Double> getMeanQueryMillis() {
+        Map<String, Double> means = new LinkedHashMap<>();
+        for (QueryType type : QueryType.values()) {
+            means.put(type.name(), meanMillis(QUERY_DURATION[type.ordinal()]));
+        }
+        return means;
+    }
+
+    @Override
+    public long getRowsScanned() {
+        long rows = 0;
+        for (Histogram histogram : QUERY_ROWS) {
+            rows += histogram.sum();
+        }
+        return rows;
+    }
+
+    @Override
+    public double getMeanSerializationMillis() {
+        return meanMillis(SERIALIZATION_DURATION);
+    }
+
+    @Override
+    public double getLoadSeconds() {
+        return loadNanos / NANOS_PER_SECOND;
+    }
+
+    @Override
+    public long getResidentMemoryBytes() {
+        return residentBytes;
+    }
+
+    @Override
+    public long getHeapUsedBytes() {
+        return heapUsedBytes;
+    }
+
+    @Override
+    public long getIndexBytes() {
+        return indexBytes;
+    }
+
+    @Override
+    public long getNameIndexBytes() {
+        return nameIndexBytes;
+    }
+}
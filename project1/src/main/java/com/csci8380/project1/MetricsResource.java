@@ -0,0 +1,22 @@
+package com.csci8380.project1;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+
+@Path("/metrics")
+public class MetricsResource {
+
+    /// Media type of the Prometheus text exposition format.
+    public static final String PROMETHEUS_TEXT = "text/plain; version=0.0.4; charset=utf-8";
+
+    /**
+     * Endpoint that reports the app's metrics for Prometheus to scrape.
+     * @return The metrics, in the Prometheus text format.
+     */
+    @GET
+    @Produces(PROMETHEUS_TEXT)
+    public String getMetrics() {
+        return Metrics.toPrometheus();
+    }
+}
@@ -1,59 +1,135 @@
 package com.csci8380.project1;
 
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
-
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.List;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
 
 @Path("/check_names")
 public class NameCheckResource {
-	
+
+    /// How long clients should wait before retrying while the graph is loading, in seconds.
+    private static final long RETRY_AFTER_SECONDS = 30;
+
+    /**
+     * Makes sure that the DBLP graph is ready to be queried.
+     * @throws ServiceUnavailableException If the graph is still loading.
+     */
+    static void requireGraph() {
+        if (!KnowledgeGraph.graphIsLoaded()) {
+            // The load normally starts at deployment, but make sure it is running.
+            KnowledgeGraph.startLoading();
+            throw new ServiceUnavailableException(RETRY_AFTER_SECONDS);
+        }
+    }
+
     /**
-     * Endpoint that checks if two researchers have a conflict-of-interest.
+     * Makes sure that a requested number of hops can be searched.
+     * @param hops The maximum number of co-authorship links to search.
+     * @throws BadRequestException If the number is out of range.
+     */
+    static void requireValidHops(int hops) {
+        if (hops < 1 || hops > ConflictChecker.MAX_HOPS) {
+            throw new BadRequestException("hops must be between 1 and " + ConflictChecker.MAX_HOPS + ".");
+        }
+    }
+
+    /**
+     * Creates a range of years from optional query parameters.
+     * @param sinceYear The first year, or null for no lower bound.
+     * @param untilYear The last year, or null for no upper bound.
+     * @return The range.
+     * @throws BadRequestException If the range is empty.
+     */
+    static YearRange requireValidYears(Integer sinceYear, Integer untilYear) {
+        YearRange years = YearRange.of(sinceYear, untilYear);
+        if (years.isEmpty()) {
+            throw new BadRequestException("sinceYear must not be after untilYear.");
+        }
+        return years;
+    }
+
+    /**
+     * Answers a conditional request for a conflict check without running it, if the client
+     * already has the current result.
+     * @param request The request, which may have an `If-None-Match` header.
+     * @param key The key of the check, from {@link ConflictChecker#resultKey}.
+     * @return A `304 Not Modified` response if the client's tag matches the current dataset,
+     *  or null if the check has to run.
+     */
+    static Response notModified(Request request, String key) {
+        EntityTag tag = ConflictETags.forCurrentDataset(key);
+        if (tag == null) {
+            return null;
+        }
+        Response.ResponseBuilder response = request.evaluatePreconditions(tag);
+        return response != null ? response.cacheControl(ConflictETags.cacheControl()).build() : null;
+    }
+
+    /**
+     * Runs a conflict check and tags the result with the dataset that answered it.
+     * @return The `200 OK` response, with `ETag` and `Cache-Control` headers.
+     */
+    static Response checkAndTag(String firstName, String secondName, int hops, YearRange years) {
+        Dataset dataset = KnowledgeGraph.acquireDataset();
+        try {
+            ConflictCheckResult result = ConflictChecker.check(dataset, firstName, secondName, hops, years);
+            EntityTag tag = ConflictETags.forDataset(dataset,
+                    ConflictChecker.resultKey(firstName, secondName, hops, years));
+            return Response.ok(result).tag(tag).cacheControl(ConflictETags.cacheControl()).build();
+        } finally {
+            dataset.release();
+        }
+    }
+
+    /**
+     * Endpoint that checks if two researchers have a conflict-of-interest. Results carry an
+     * `ETag` that identifies the dataset and the names that were checked, so a request with a
+     * matching `If-None-Match` header is answered with `304 Not Modified` without querying
+     * the graph.
      * @param firstName The full name of the first researcher.
      * @param secondName The full name of the second researcher.
+     * @param hops The maximum number of co-authorship links between the researchers, from
+     *  1 (only shared papers) to 3. With 2 or 3, researchers who share a co-author (or two
+     *  co-authors who have worked together) are reported as an indirect conflict.
+     * @param sinceYear If given, only papers from this year onwards are counted.
+     * @param untilYear If given, only papers up to and including this year are counted.
+     * @param request The request, for evaluating its preconditions.
      * @return JSON response containing conflict information.
+     * @throws BadRequestException If the number of hops or the range of years is invalid.
+     * @throws ServiceUnavailableException If the DBLP graph is still loading.
+     * @throws QueryTimeoutException If the query took too long.
      */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public ConflictCheckResult checkNames(@QueryParam("firstName") String firstName,
-                             @QueryParam("secondName") String secondName) {
-    	
-    	if(!KnowledgeGraph.graphIsLoaded()) {
-			String dblpPath = System.getProperty("dblp.path", "dblp-20170124.hdt");
-    		try {
-    			InputStream input = new FileInputStream(dblpPath);
-	    		KnowledgeGraph.load(input);
-    		} catch(IOException e) {
-    			System.out.println(e);
-    		}
-    	}
-    	
-    	// Example JSON response that this endpoint should provide.
-        ConflictCheckResult result = new ConflictCheckResult();
-        
-        List<Paper> papers;
-    	if(KnowledgeGraph.graphIsLoaded()) {
-            papers = KnowledgeGraph.findCOI(firstName, secondName);
-    	} else {
-    		papers = new ArrayList<Paper>();
-    	}
-        
-    	switch(papers.size()) {
-	    	case 0: result.setLevel(ConflictLevel.NONE); break;
-	    	case 1: result.setLevel(ConflictLevel.LOW); break;
-	    	case 2: result.setLevel(ConflictLevel.MEDIUM); break;
-	    	default: result.setLevel(ConflictLevel.STRONG); break;
-    	}
-        result.setPapers(papers);
-
-        return result;
+    // Declared so that the generated API client still knows the type of the result.
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = ConflictCheckResult.class)))
+    public Response checkNames(@QueryParam("firstName") String firstName,
+                               @QueryParam("secondName") String secondName,
+                               @QueryParam("hops") @DefaultValue("1") int hops,
+                               @QueryParam("sinceYear") Integer sinceYear,
+                               @QueryParam("untilYear") Integer untilYear,
+                               @Context Request request) {
+
+        requireValidHops(hops);
+        YearRange years = requireValidYears(sinceYear, untilYear);
+        Response notModified = notModified(request, ConflictChecker.resultKey(firstName, secondName, hops, years));
+        if (notModified != null) {
+            return notModified;
+        }
+        requireGraph();
+
+        return checkAndTag(firstName, secondName, hops, years);
     }
 }
\ No newline at end of file
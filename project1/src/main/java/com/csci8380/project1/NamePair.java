@@ -0,0 +1,27 @@
+package com.csci8380.project1;
+
+/**
+ * Model representing a pair of researchers to check for a conflict-of-interest.
+ */
+public class NamePair {
+    /// Full name of the first researcher.
+    private String firstName;
+    /// Full name of the second researcher.
+    private String secondName;
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getSecondName() {
+        return secondName;
+    }
+
+    public void setSecondName(String secondName) {
+        this.secondName = secondName;
+    }
+}
@@ -0,0 +1,165 @@
+package com.csci8380.project1;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of conflict check results, keyed by a pair of names in either order. Results
+ * report suggestions and co-author chains relative to the order of the names, so they are
+ * cached for the names in the order of {@link #key(String, String)}, and callers that checked
+ * the names the other way around turn them round (see {@link #isReversed}).
+ * Entries are evicted in least-recently-used order once the cache is full, and expire after
+ * a fixed time. Each entry also records the generation of the dataset that produced it,
+ * and the whole cache is cleared as soon as a lookup is made for a newer generation.
+ * Lookups for older generations always miss.
+ */
+public class PairCache {
+
+    private static class CachedResult {
+        final ConflictCheckResult result;
+        final long generation;
+        final long createdNanos;
+
+        CachedResult(ConflictCheckResult result, long generation, long createdNanos) {
+            this.result = result;
+            this.generation = generation;
+            this.createdNanos = createdNanos;
+        }
+    }
+
+    private final int maxSize;
+    private final long ttlNanos;
+
+    /// Entries in access order, so the eldest is the least recently used.
+    private final LinkedHashMap<String, CachedResult> entries;
+    /// The most recent dataset generation the cache has seen.
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxSize The maximum number of entries to hold. If this is zero, nothing is cached.
+     * @param ttl How long entries remain valid.
+     * @param ttlUnit The unit of the TTL.
+     */
+    public PairCache(int maxSize, long ttl, TimeUnit ttlUnit) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlUnit.toNanos(ttl);
+        this.entries = new LinkedHashMap<String, CachedResult>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+                if (size() > PairCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Creates a cache key for a pair of names. Swapping the names gives the same key, since
+     * chairs often enter a pair in either order.
+     * @param firstName The first normalized name.
+     * @param secondName The second normalized name.
+     * @return The cache key, which has the names in sorted order.
+     */
+    public static String key(String firstName, String secondName) {
+        if (isReversed(firstName, secondName)) {
+            String swapped = firstName;
+            firstName = secondName;
+            secondName = swapped;
+        }
+        // Names never contain control characters, so this separator is unambiguous.
+        return firstName + '\u0000' + secondName;
+    }
+
+    /**
+     * @param firstName The first normalized name.
+     * @param secondName The second normalized name.
+     * @return True if the names are the other way around from how {@link #key(String, String)}
+     *  orders them, so that a cached result for them has to be turned round.
+     */
+    public static boolean isReversed(String firstName, String secondName) {
+        return firstName.compareTo(secondName) > 0;
+    }
+
+    /**
+     * Creates a cache key for a pair of names that were checked with particular options.
+     * @param firstName The first normalized name.
+     * @param secondName The second normalized name.
+     * @param options Any options that affect the result, such as the number of hops.
+     * @return The cache key.
+     */
+    public static String key(String firstName, String secondName, String options) {
+        return key(firstName, secondName) + '\u0000' + options;
+    }
+
+    /**
+     * Looks up a cached result.
+     * @param key The key, as created by {@link #key(String, String)}.
+     * @param generation The generation of the dataset that the check runs against.
+     * @return The cached result, or null if there is no valid entry.
+     */
+    public synchronized ConflictCheckResult get(String key, long generation) {
+        if (generation > this.generation) {
+            entries.clear();
+            this.generation = generation;
+        }
+
+        // A lookup for an older dataset, from a check that started before a swap, misses
+        // without disturbing the entries of the newer one.
+        CachedResult entry = generation == this.generation ? entries.get(key) : null;
+        if (entry != null && System.nanoTime() - entry.createdNanos > ttlNanos) {
+            entries.remove(key);
+            evictions.increment();
+            entry = null;
+        }
+
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.result;
+    }
+
+    /**
+     * Adds a result to the cache.
+     * @param key The key, as created by {@link #key(String, String)}.
+     * @param result The result to cache.
+     * @param generation The generation of the dataset that produced the result.
+     */
+    public synchronized void put(String key, ConflictCheckResult result, long generation) {
+        if (maxSize <= 0 || generation != this.generation) {
+            // Either caching is disabled, or the result came from an outdated dataset.
+            return;
+        }
+        entries.put(key, new CachedResult(result, generation, System.nanoTime()));
+    }
+
+    /**
+     * Removes all the entries from the cache.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @return The current statistics of the cache.
+     */
+    public CacheStats getStats() {
+        CacheStats stats = new CacheStats();
+        synchronized (this) {
+            stats.setSize(entries.size());
+        }
+        stats.setHits(hits.sum());
+        stats.setMisses(misses.sum());
+        stats.setEvictions(evictions.sum());
+        return stats;
+    }
+}
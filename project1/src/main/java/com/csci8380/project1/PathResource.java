@@ -0,0 +1,49 @@
+package com.csci8380.project1;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.core.MediaType;
+
+import java.util.List;
+
+@Path("/path")
+public class PathResource {
+
+    /// Maximum number of papers in a chain.
+    private static final int MAX_HOPS = Integer.getInteger("conflict.path.maxHops", 12);
+    /// Maximum number of authors to visit from each researcher.
+    private static final int MAX_VISITED = Integer.getInteger("conflict.path.maxVisited", 500000);
+
+    /**
+     * Endpoint that finds the shortest chain of co-authors between two researchers, which
+     * explains how closely they are connected.
+     * @param from The full name of the first researcher.
+     * @param to The full name of the second researcher.
+     * @return JSON chain of authors, and the papers that link each of them to the next.
+     * @throws NotFoundException If the researchers are not connected, or are too far apart.
+     * @throws ServiceUnavailableException If the DBLP graph is still loading.
+     * @throws QueryTimeoutException If the search took too long.
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public CollaborationPath findPath(@QueryParam("from") String from, @QueryParam("to") String to) {
+        NameCheckResource.requireGraph();
+
+        List<CollaborationPath> paths;
+        Dataset dataset = KnowledgeGraph.acquireDataset();
+        try {
+            paths = KnowledgeGraph.findPaths(dataset, ConflictChecker.normalizeName(from),
+                    ConflictChecker.normalizeName(to), MAX_HOPS, 1, MAX_VISITED, YearRange.ALL);
+        } finally {
+            dataset.release();
+        }
+        if (paths.isEmpty()) {
+            throw new NotFoundException("No chain of at most " + MAX_HOPS + " co-authors was found.");
+        }
+        return paths.get(0);
+    }
+}
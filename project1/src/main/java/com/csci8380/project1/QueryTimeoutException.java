@@ -0,0 +1,16 @@
+package com.csci8380.project1;
+
+/**
+ * Thrown when a graph query does not finish within its time limit.
+ */
+public class QueryTimeoutException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param timeoutMillis The time limit that was exceeded, in milliseconds.
+     */
+    public QueryTimeoutException(long timeoutMillis) {
+        super("The query did not finish within " + timeoutMillis + " ms.");
+    }
+}
@@ -0,0 +1,21 @@
+package com.csci8380.project1;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Reports queries that time out with a 504 status and a structured error.
+ */
+@Provider
+public class QueryTimeoutExceptionMapper implements ExceptionMapper<QueryTimeoutException> {
+
+    @Override
+    public Response toResponse(QueryTimeoutException exception) {
+        return Response.status(Response.Status.GATEWAY_TIMEOUT)
+                .type(MediaType.APPLICATION_JSON)
+                .entity(new ErrorResult("query_timeout", exception.getMessage()))
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.csci8380.project1;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Reports that the server is too busy to accept more queries with a 503 status and a
+ * structured error.
+ */
+@Provider
+public class RejectedExecutionExceptionMapper implements ExceptionMapper<RejectedExecutionException> {
+
+    /// How long clients should wait before retrying, in seconds.
+    private static final long RETRY_AFTER_SECONDS = 5;
+
+    @Override
+    public Response toResponse(RejectedExecutionException exception) {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .type(MediaType.APPLICATION_JSON)
+                .entity(new ErrorResult("overloaded", "Too many queries are in progress."))
+                .build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.csci8380.project1;
+
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+import java.io.IOException;
+
+/**
+ * Measures how long it takes to write each response body, so that serialization time can
+ * be told apart from query time. Streamed responses are skipped, since writing them also
+ * computes them.
+ */
+@Provider
+public class SerializationTimer implements WriterInterceptor {
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException, WebApplicationException {
+        if (context.getEntity() instanceof StreamingOutput) {
+            context.proceed();
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        try {
+            context.proceed();
+        } finally {
+            Metrics.serialized(System.nanoTime() - startNanos);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.csci8380.project1;
+
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.hdt.HDTManager;
+import org.rdfhdt.hdt.listener.ProgressListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.logging.Logger;
+
+/**
+ * Command-line tool that builds a {@link ConflictSnapshot} from an HDT file, so that the app
+ * can open the co-authorship index without rebuilding it. Run it once for each DBLP dump.
+ */
+public final class SnapshotBuilder {
+
+    private static final Logger LOGGER = Logger.getLogger(SnapshotBuilder.class.getName());
+
+    private SnapshotBuilder() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: SnapshotBuilder <dblp.hdt> <output snapshot>");
+            System.exit(2);
+        }
+        Path hdtPath = Paths.get(args[0]);
+        Path snapshotPath = Paths.get(args[1]);
+
+        ProgressListener listener = (level, message) -> LOGGER.fine(message + " (" + level + "%)");
+        long startTime = System.nanoTime();
+        try (HDT hdt = HDTManager.mapIndexedHDT(hdtPath.toString(), listener)) {
+            HdtLookup lookup = new HdtLookup(hdt);
+            CoauthorshipIndex index = CoauthorshipIndex.build(lookup, listener);
+            ConflictSnapshot.write(snapshotPath, hdtPath, index, lookup, listener);
+            LOGGER.info(String.format("Wrote snapshot of %d papers and %d authors to %s in %d ms (%d MB)",
+                    index.getNumPapers(), index.getNumAuthors(), snapshotPath,
+                    (System.nanoTime() - startTime) / 1_000_000, Files.size(snapshotPath) >> 20));
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.csci8380.project1;
+
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.query.*;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.sparql.ARQConstants;
+import org.apache.jena.sparql.algebra.Algebra;
+import org.apache.jena.sparql.algebra.Op;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.apache.jena.sparql.core.Substitute;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.engine.Plan;
+import org.apache.jena.sparql.engine.QueryEngineFactory;
+import org.apache.jena.sparql.engine.QueryEngineRegistry;
+import org.apache.jena.sparql.engine.QueryIterator;
+import org.apache.jena.sparql.engine.binding.Binding;
+import org.apache.jena.sparql.engine.binding.BindingFactory;
+import org.apache.jena.sparql.engine.binding.BindingMap;
+import org.apache.jena.sparql.engine.binding.BindingRoot;
+import org.apache.jena.sparql.util.Context;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conflict engine that runs a SPARQL query against a Jena view of the graph.
+ * The query is parsed, compiled to algebra and optimized only once. Each check then
+ * just binds the two names into the prepared plan, which also means that names are
+ * always treated as literals, whatever characters they contain.
+ */
+public class SparqlConflictEngine implements ConflictEngine {
+
+    /// The text of the query, with the names of the two authors left as the ?name1 and
+    /// ?name2 variables.
+    static final String QUERY_STRING =
+            "PREFIX elements: <http://purl.org/dc/elements/1.1/>"
+            + " PREFIX terms: <http://purl.org/dc/terms/>"
+            + " PREFIX foaf: <http://xmlns.com/foaf/0.1/>"
+            + " SELECT ?title ?year WHERE {"
+            + "  ?paper elements:title ?title ."
+            + "  ?paper terms:issued ?year ."
+            + "  ?paper foaf:maker ?person1 ."
+            + "  ?paper foaf:maker ?person2 ."
+            + "  ?person1 foaf:name ?name1 ."
+            + "  ?person2 foaf:name ?name2 ."
+            + "}"
+            + " ORDER BY DESC(?year)";
+    /// The parsed query.
+    static final Query QUERY = QueryFactory.create(QUERY_STRING, Syntax.syntaxSPARQL_11);
+    /// The optimized algebra plan for the query.
+    static final Op PLAN = Algebra.optimize(Algebra.compile(QUERY));
+
+    private static final Var NAME_1 = Var.alloc("name1");
+    private static final Var NAME_2 = Var.alloc("name2");
+    private static final Var TITLE = Var.alloc("title");
+    private static final Var YEAR = Var.alloc("year");
+
+    /// How often to check whether running queries should be cancelled.
+    private static final long WATCHDOG_PERIOD_MILLIS = 50;
+    private static final ScheduledExecutorService WATCHDOG = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sparql-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final DatasetGraph dataset;
+    private final QueryEngineFactory engineFactory;
+
+    /**
+     * @param model The model to query.
+     */
+    public SparqlConflictEngine(Model model) {
+        this.dataset = DatasetGraphFactory.wrap(model.getGraph());
+        this.engineFactory = QueryEngineRegistry.findFactory(PLAN, dataset, null);
+    }
+
+    /**
+     * Binds the names of the two authors into the prepared plan.
+     * @param author_1 The full name of the first author.
+     * @param author_2 The full name of the second author.
+     * @return The plan to execute.
+     */
+    static Op bind(String author_1, String author_2) {
+        BindingMap binding = BindingFactory.create();
+        binding.add(NAME_1, NodeFactory.createLiteral(author_1));
+        binding.add(NAME_2, NodeFactory.createLiteral(author_2));
+        return Substitute.substitute(PLAN, binding);
+    }
+
+    /**
+     * Starts executing the prepared plan for a pair of authors.
+     * @return An iterator over the solutions.
+     */
+    private QueryIterator execute(String author_1, String author_2) {
+        // The HDT solver reads prefixes from the query, so it has to be in the context.
+        Context context = ARQ.getContext().copy();
+        context.set(ARQConstants.sysCurrentQuery, QUERY);
+        Plan plan = engineFactory.create(bind(author_1, author_2), dataset, BindingRoot.create(), context);
+        return plan.iterator();
+    }
+
+    @Override
+    public List<Paper> findCOI(String author_1, String author_2, YearRange years) {
+        /* Do query, building papers straight from each solution */
+        QueryIterator solutions = execute(author_1, author_2);
+        // Jena does not notice interrupts, so cancel the query when this thread is interrupted.
+        Thread worker = Thread.currentThread();
+        ScheduledFuture<?> watchdog = WATCHDOG.scheduleWithFixedDelay(() -> {
+            if (worker.isInterrupted()) {
+                solutions.cancel();
+            }
+        }, WATCHDOG_PERIOD_MILLIS, WATCHDOG_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+        try {
+            return extract(solutions, years);
+        } finally {
+            watchdog.cancel(false);
+            solutions.close();
+        }
+    }
+
+    /**
+     * Builds papers from the solutions of the query.
+     * @param solutions The solutions, most recent first.
+     * @param years The years to include papers from.
+     * @return The papers, most recent first.
+     */
+    static List<Paper> extract(Iterator<Binding> solutions, YearRange years) {
+        List<Paper> papers = new ArrayList<Paper>();
+        long rows = 0;
+        try {
+            while (solutions.hasNext()) {
+                Binding solution = solutions.next();
+                ++rows;
+                int year = DblpVocabulary.parseYear(solution.get(YEAR).getLiteralLexicalForm());
+                if (year > years.getUntil()) {
+                    continue;
+                }
+                if (year < years.getSince()) {
+                    // Solutions come most recent first, so the rest are all too old.
+                    break;
+                }
+
+                Paper paper = new Paper();
+                paper.setName(solution.get(TITLE).getLiteralLexicalForm());
+                paper.setYear(year);
+                papers.add(paper);
+            }
+        } finally {
+            Metrics.rowsScanned(rows);
+        }
+        return papers;
+    }
+}
@@ -0,0 +1,106 @@
+package com.csci8380.project1;
+
+import io.swagger.v3.jaxrs2.integration.resources.OpenApiResource;
+import jakarta.ws.rs.ApplicationPath;
+import org.glassfish.grizzly.http.server.CLStaticHttpHandler;
+import org.glassfish.grizzly.http.server.HttpServer;
+import org.glassfish.jersey.grizzly2.httpserver.GrizzlyHttpServerFactory;
+import org.glassfish.jersey.server.ResourceConfig;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs the app on an embedded Jersey server on Grizzly instead of in GlassFish, from the
+ * executable jar that the `standalone` Maven profile builds. The DBLP graph is loaded while
+ * the server starts, rather than when the first request arrives, and the time taken by each
+ * phase of startup is logged.
+ * <p>
+ * The server listens on `server.host` and `server.port` (by default, every interface on port
+ * 8080). The API is served under `server.contextPath`, which defaults to the path that
+ * GlassFish deploys the WAR to, so that the frontend works unchanged.
+ */
+public final class StandaloneServer {
+
+    private static final Logger LOGGER = Logger.getLogger(StandaloneServer.class.getName());
+
+    /// Where the frontend is kept in the jar.
+    private static final String FRONTEND_RESOURCES = "webapp/";
+    /// How long requests in flight get to finish when the server is shut down, in seconds.
+    private static final long SHUTDOWN_GRACE_SECONDS = 10;
+
+    private StandaloneServer() {}
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        long jvmMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        long startTime = System.nanoTime();
+
+        // The graph takes the longest, so it loads while everything else starts.
+        CompletableFuture<Long> graphMillis = CompletableFuture.supplyAsync(() -> {
+            long loadStartTime = System.nanoTime();
+            try {
+                KnowledgeGraph.loadAtStartup();
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not load the DBLP graph from "
+                        + KnowledgeGraph.getDblpPath(), e);
+            }
+            return (System.nanoTime() - loadStartTime) / 1_000_000;
+        });
+
+        // Creating the server is when Jersey scans for resources and sets up injection.
+        long phaseStartTime = System.nanoTime();
+        String contextPath = System.getProperty("server.contextPath", "/project1-1.0-SNAPSHOT");
+        String apiPath = ConflictCheckerApplication.class.getAnnotation(ApplicationPath.class).value();
+        URI baseUri = URI.create("http://" + System.getProperty("server.host", "0.0.0.0") + ":"
+                + Integer.getInteger("server.port", 8080) + contextPath + apiPath + "/");
+        ResourceConfig config = new ResourceConfig()
+                .packages(ConflictCheckerApplication.class.getPackage().getName())
+                .register(OpenApiResource.class);
+        HttpServer server = GrizzlyHttpServerFactory.createHttpServer(baseUri, config, false);
+        server.getServerConfiguration().addHttpHandler(
+                new CLStaticHttpHandler(StandaloneServer.class.getClassLoader(), "/" + FRONTEND_RESOURCES),
+                contextPath + "/");
+        long jaxRsMillis = (System.nanoTime() - phaseStartTime) / 1_000_000;
+
+        phaseStartTime = System.nanoTime();
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            // The JVM exits once this returns, so wait for the requests in flight to finish.
+            try {
+                server.shutdown(SHUTDOWN_GRACE_SECONDS, TimeUnit.SECONDS).get();
+            } catch (InterruptedException | ExecutionException e) {
+                LOGGER.log(Level.WARNING, "Server did not shut down cleanly", e);
+            } finally {
+                stopped.countDown();
+            }
+        }, "server-shutdown"));
+        server.start();
+        long httpMillis = (System.nanoTime() - phaseStartTime) / 1_000_000;
+        LOGGER.info("Listening on " + baseUri);
+
+        long loadMillis;
+        try {
+            loadMillis = graphMillis.get();
+        } catch (ExecutionException e) {
+            // Without the graph, the server can never become ready, so let it be restarted.
+            LOGGER.log(Level.SEVERE, "Startup failed", e.getCause());
+            // This runs the shutdown hook, which stops the server.
+            System.exit(1);
+            return;
+        }
+        LOGGER.info(String.format("Started in %d ms: JVM %d ms, JAX-RS setup %d ms, HTTP server %d ms, "
+                        + "graph load%s %d ms (in parallel with the server)",
+                jvmMillis + (System.nanoTime() - startTime) / 1_000_000, jvmMillis, jaxRsMillis, httpMillis,
+                WarmUp.isEnabled() ? " and warm-up" : "", loadMillis));
+
+        // The server's threads are daemons, so keep the JVM alive until it is shut down.
+        stopped.await();
+    }
+}
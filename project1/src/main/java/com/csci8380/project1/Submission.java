@@ -0,0 +1,30 @@
+package com.csci8380.project1;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Model representing a submission to be checked against a program committee.
+ */
+public class Submission {
+    /// Identifier of the submission, which is echoed back in the results.
+    private String id;
+    /// Full names of the submission's authors.
+    private List<String> authors = new ArrayList<>();
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public List<String> getAuthors() {
+        return authors;
+    }
+
+    public void setAuthors(List<String> authors) {
+        this.authors = authors;
+    }
+}
@@ -0,0 +1,350 @@
+package com.csci8380.project1;
+
+import org.rdfhdt.hdt.exceptions.ParserException;
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.hdt.HDTManager;
+import org.rdfhdt.hdt.listener.ProgressListener;
+import org.rdfhdt.hdt.options.HDTSpecification;
+import org.rdfhdt.hdt.triples.TripleString;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.logging.Logger;
+
+/**
+ * Generates HDT files that are shaped like DBLP, using the same vocabulary that the conflict
+ * checker queries, so that load time, memory use and query latency can be measured at any
+ * size without the real dump. The output depends only on the settings and the seed.
+ * <p>
+ * Both distributions follow power laws, as they do in DBLP: most papers have a few
+ * authors, and most authors have a few papers, while some have hundreds. Every author
+ * has at least one paper as long as there are enough papers to go around.
+ */
+public final class SyntheticDblpGenerator {
+
+    private static final Logger LOGGER = Logger.getLogger(SyntheticDblpGenerator.class.getName());
+
+    private static final String BASE_URI = "http://synthetic.dblp.org/";
+    private static final String YEAR_TYPE = "^^<http://www.w3.org/2001/XMLSchema#gYear>";
+    /// The most recent year that papers are issued in.
+    private static final int LAST_YEAR = 2019;
+    /// The earliest year that papers are issued in.
+    private static final int FIRST_YEAR = 1960;
+    /// How much the number of papers published grows each year.
+    private static final double YEARLY_GROWTH = 0.08;
+
+    private static final String[] FIRST_NAMES = {
+            "Alice", "Bo", "Carlos", "Dmitri", "Elena", "Fatima", "Gustav", "Hiroshi", "Ines", "Jun",
+            "Katarzyna", "Lars", "Mei", "Nikolai", "Olga", "Pedro", "Qing", "Rahul", "Sofia", "Tomás",
+            "Umar", "Valentina", "Wei", "Xavier", "Yuki", "Zainab",
+    };
+    private static final String[] LAST_NAMES = {
+            "Andersson", "Brown", "Chen", "Dubois", "Evans", "Fischer", "García", "Hansen", "Ivanov",
+            "Jensen", "Kim", "Li", "Müller", "Nguyen", "Okafor", "Petrov", "Rossi", "Smith", "Tanaka",
+            "Wang", "Yilmaz", "Zhang", "Kowalski", "O'Brien", "Silva", "Novák", "Haddad", "Costa",
+    };
+    private static final String[] TITLE_WORDS = {
+            "Adaptive", "Analysis", "Approach", "Bounds", "Caching", "Communication", "Concurrent",
+            "Consistency", "Distributed", "Efficient", "Evaluation", "Fast", "Framework", "Graphs",
+            "Learning", "Linked", "Model", "Networks", "Optimal", "Parallel", "Queries", "Robust",
+            "Scalable", "Scheduling", "Search", "Semantic", "Storage", "Streams", "Systems", "Towards",
+            "Verification", "Workloads",
+    };
+
+    private final int numAuthors;
+    private final int numPapers;
+    private final long seed;
+    /// Exponent of the power law that the number of papers per author follows.
+    private final double papersPerAuthorExponent;
+    /// Exponent of the power law that the number of authors per paper follows.
+    private final double authorsPerPaperExponent;
+    private final int maxAuthorsPerPaper;
+
+    /**
+     * Creates a generator with the default distributions, which can be changed with the
+     * `synthetic.papersPerAuthorExponent`, `synthetic.authorsPerPaperExponent` and
+     * `synthetic.maxAuthorsPerPaper` properties.
+     * @param numAuthors The number of authors to generate.
+     * @param numPapers The number of papers to generate.
+     * @param seed The seed for the random number generator.
+     */
+    public SyntheticDblpGenerator(int numAuthors, int numPapers, long seed) {
+        this(numAuthors, numPapers, seed,
+                Double.parseDouble(System.getProperty("synthetic.papersPerAuthorExponent", "3.0")),
+                Double.parseDouble(System.getProperty("synthetic.authorsPerPaperExponent", "1.5")),
+                Integer.getInteger("synthetic.maxAuthorsPerPaper", 20));
+    }
+
+    /**
+     * @param numAuthors The number of authors to generate.
+     * @param numPapers The number of papers to generate.
+     * @param seed The seed for the random number generator.
+     * @param papersPerAuthorExponent The exponent of the power law that the number of papers
+     *  per author follows. Lower values give the most prolific authors more papers. Must be
+     *  greater than 1.
+     * @param authorsPerPaperExponent The exponent of the power law that the number of authors
+     *  per paper follows. Lower values give papers more authors.
+     * @param maxAuthorsPerPaper The maximum number of authors on one paper.
+     */
+    public SyntheticDblpGenerator(int numAuthors, int numPapers, long seed, double papersPerAuthorExponent,
+                                  double authorsPerPaperExponent, int maxAuthorsPerPaper) {
+        if (numAuthors < 1 || numPapers < 0) {
+            throw new IllegalArgumentException("There must be at least one author.");
+        }
+        if (papersPerAuthorExponent <= 1) {
+            throw new IllegalArgumentException("The papers per author exponent must be greater than 1.");
+        }
+        if (maxAuthorsPerPaper < 1) {
+            throw new IllegalArgumentException("Papers must be allowed at least one author.");
+        }
+        this.numAuthors = numAuthors;
+        this.numPapers = numPapers;
+        this.seed = seed;
+        this.papersPerAuthorExponent = papersPerAuthorExponent;
+        this.authorsPerPaperExponent = authorsPerPaperExponent;
+        this.maxAuthorsPerPaper = Math.min(maxAuthorsPerPaper, numAuthors);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3 || args.length > 4) {
+            System.err.println("Usage: SyntheticDblpGenerator <output hdt> <authors> <papers> [seed]");
+            System.exit(2);
+        }
+        SyntheticDblpGenerator generator = new SyntheticDblpGenerator(Integer.parseInt(args[1]),
+                Integer.parseInt(args[2]), args.length > 3 ? Long.parseLong(args[3]) : 8380);
+        Path output = Paths.get(args[0]);
+
+        LOGGER.info("Generating about " + generator.expectedTriples() + " triples");
+        long startTime = System.nanoTime();
+        ProgressListener listener = (level, message) -> LOGGER.fine(message + " (" + level + "%)");
+        long numTriples = generator.write(output, listener);
+        LOGGER.info(String.format("Wrote %d triples (%d authors, %d papers) to %s in %d ms (%d MB)",
+                numTriples, generator.numAuthors, generator.numPapers, output,
+                (System.nanoTime() - startTime) / 1_000_000, Files.size(output) >> 20));
+    }
+
+    /**
+     * Generates the dataset and saves it as an HDT file. The triples are generated as they
+     * are added, but HDT builds its dictionary in memory, so the heap must be large enough to
+     * hold every distinct term.
+     * @param output The file to write to. It is only replaced once the dataset is complete.
+     * @param listener Notified of the progress of the HDT conversion.
+     * @return The number of triples generated.
+     * @throws IOException If the file could not be written.
+     */
+    public long write(Path output, ProgressListener listener) throws IOException {
+        Triples triples = new Triples();
+        Path temporary = output.resolveSibling(output.getFileName() + ".tmp");
+        try (HDT hdt = HDTManager.generateHDT(triples, BASE_URI, new HDTSpecification(), listener)) {
+            hdt.saveToHDT(temporary.toString(), listener);
+        } catch (ParserException e) {
+            // Only thrown for malformed input, which the generator never produces.
+            throw new IOException("Could not convert generated triples", e);
+        }
+        Files.move(temporary, output, StandardCopyOption.REPLACE_EXISTING);
+        return triples.numTriples;
+    }
+
+    /**
+     * @return The expected number of triples, to help choose the number of authors and papers
+     *  for a target size.
+     */
+    public long expectedTriples() {
+        double total = 0;
+        double meanAuthors = 0;
+        for (int size = 1; size <= maxAuthorsPerPaper; ++size) {
+            double weight = Math.pow(size, -authorsPerPaperExponent);
+            total += weight;
+            meanAuthors += size * weight;
+        }
+        meanAuthors /= total;
+        return numAuthors + Math.round(numPapers * (2 + meanAuthors));
+    }
+
+    /**
+     * @param author The index of an author.
+     * @return The name of the author. Names repeat once every combination of first and last
+     *  name has been used, with a number appended, like homonyms in DBLP.
+     */
+    public static String authorName(int author) {
+        int numCombinations = FIRST_NAMES.length * LAST_NAMES.length;
+        String name = FIRST_NAMES[author % FIRST_NAMES.length] + " "
+                + LAST_NAMES[(author / FIRST_NAMES.length) % LAST_NAMES.length];
+        return author < numCombinations ? name : String.format("%s %04d", name, author / numCombinations);
+    }
+
+    /**
+     * @param author The index of an author.
+     * @return The URI of the author.
+     */
+    public static String authorUri(int author) {
+        return BASE_URI + "authors/a" + author;
+    }
+
+    /**
+     * Lazily generates the triples: every paper with its title, year and authors, followed
+     * by the name of every author.
+     */
+    private class Triples implements Iterator<TripleString> {
+        private final Random random = new Random(seed);
+        /// Cumulative probabilities of each number of authors per paper, starting with one.
+        private final double[] paperSizes = new double[maxAuthorsPerPaper];
+        /// Multiplier that scatters the first appearance of each author across the papers.
+        private final long scatter;
+
+        private final int[] authors = new int[maxAuthorsPerPaper];
+        private int paper = -1;
+        private int numPaperAuthors;
+        /// Position within the triples of the current paper: the title, the year, and then
+        /// each author.
+        private int position;
+        /// Index of the next author slot over all the papers.
+        private long slot;
+        private int namedAuthor;
+        private long numTriples;
+
+        Triples() {
+            double total = 0;
+            for (int size = 1; size <= maxAuthorsPerPaper; ++size) {
+                total += Math.pow(size, -authorsPerPaperExponent);
+                paperSizes[size - 1] = total;
+            }
+            for (int i = 0; i < paperSizes.length; ++i) {
+                paperSizes[i] /= total;
+            }
+
+            long multiplier = 1_000_003;
+            while (gcd(multiplier, numAuthors) != 1) {
+                multiplier += 2;
+            }
+            scatter = multiplier % numAuthors;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return paper < numPapers || namedAuthor < numAuthors;
+        }
+
+        @Override
+        public TripleString next() {
+            if (paper < 0 || position >= numPaperAuthors + 2) {
+                if (paper + 1 < numPapers) {
+                    nextPaper();
+                } else {
+                    paper = numPapers;
+                }
+            }
+            ++numTriples;
+
+            if (paper >= numPapers) {
+                if (namedAuthor >= numAuthors) {
+                    throw new NoSuchElementException();
+                }
+                int author = namedAuthor++;
+                return new TripleString(authorUri(author), DblpVocabulary.FOAF_NAME,
+                        DblpVocabulary.literal(authorName(author)));
+            }
+
+            String subject = BASE_URI + "publications/p" + paper;
+            int current = position++;
+            if (current == 0) {
+                return new TripleString(subject, DblpVocabulary.ELEMENTS_TITLE, DblpVocabulary.literal(title()));
+            } else if (current == 1) {
+                return new TripleString(subject, DblpVocabulary.TERMS_ISSUED,
+                        DblpVocabulary.literal(Integer.toString(year())) + YEAR_TYPE);
+            }
+            return new TripleString(subject, DblpVocabulary.FOAF_MAKER, authorUri(authors[current - 2]));
+        }
+
+        private void nextPaper() {
+            ++paper;
+            position = 0;
+            double sample = random.nextDouble();
+            numPaperAuthors = 1;
+            while (numPaperAuthors < maxAuthorsPerPaper && paperSizes[numPaperAuthors - 1] < sample) {
+                ++numPaperAuthors;
+            }
+
+            for (int i = 0; i < numPaperAuthors; ++i) {
+                int author;
+                do {
+                    author = nextAuthor();
+                } while (contains(authors, i, author));
+                authors[i] = author;
+            }
+        }
+
+        /**
+         * Picks the author for the next slot. The first slots give every author their first
+         * paper, in a scattered order so that co-authors are not neighbours. After that,
+         * authors are drawn from a Zipf distribution, which gives the number of papers per
+         * author a power law with the configured exponent.
+         */
+        private int nextAuthor() {
+            long current = slot++;
+            if (current < numAuthors) {
+                return (int) ((current * scatter) % numAuthors);
+            }
+
+            // Inverse transform sampling of a continuous Zipf distribution over the ranks. A
+            // Zipf exponent of s gives a power law of papers per author with exponent 1 + 1/s.
+            double s = 1 / (papersPerAuthorExponent - 1);
+            double u = random.nextDouble();
+            double rank;
+            if (Math.abs(s - 1) < 1e-9) {
+                rank = Math.pow(numAuthors + 1, u);
+            } else {
+                rank = Math.pow((Math.pow(numAuthors + 1, 1 - s) - 1) * u + 1, 1 / (1 - s));
+            }
+            return Math.min((int) rank - 1, numAuthors - 1);
+        }
+
+        /**
+         * @return A year, with more recent years more likely, as the number of papers
+         *  published grows every year.
+         */
+        private int year() {
+            int year;
+            do {
+                year = LAST_YEAR - (int) (-Math.log(1 - random.nextDouble()) / YEARLY_GROWTH);
+            } while (year < FIRST_YEAR);
+            return year;
+        }
+
+        private String title() {
+            int numWords = 3 + random.nextInt(6);
+            StringBuilder title = new StringBuilder();
+            for (int i = 0; i < numWords; ++i) {
+                if (i > 0) {
+                    title.append(' ');
+                }
+                title.append(TITLE_WORDS[random.nextInt(TITLE_WORDS.length)]);
+            }
+            return title.append('.').toString();
+        }
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; ++i) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long remainder = a % b;
+            a = b;
+            b = remainder;
+        }
+        return a;
+    }
+}
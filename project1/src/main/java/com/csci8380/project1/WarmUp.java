@@ -0,0 +1,305 @@
+package com.csci8380.project1;
+
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.rdfhdt.hdt.listener.ProgressListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs conflict checks against a newly loaded graph before the instance reports that it is
+ * ready, so that the JIT has compiled the hot path by the time real requests arrive. Until
+ * then, checks run in the interpreter, and their tail latency is many times worse.
+ * <p>
+ * Each check is a request to `/check_names` or `/check_names/async`, which is handled by the
+ * app's own resources, filters and JSON writer in process, and queries the graph on the same
+ * pool as real requests. Several checks run at once, and the result cache is emptied before
+ * each round so that every check queries the graph. The checks run in rounds, and the
+ * warm-up ends once the 99th percentile latency stays about the same from one round to the
+ * next.
+ */
+public final class WarmUp {
+
+    private static final Logger LOGGER = Logger.getLogger(WarmUp.class.getName());
+
+    /// Whether to warm up after the graph is loaded, as set by the `conflict.warmup.enabled`
+    /// property.
+    private static final boolean ENABLED = Boolean.getBoolean("conflict.warmup.enabled");
+    /// File of name pairs to check, as set by the `conflict.warmup.pairs` property. If it is
+    /// not set, pairs are drawn from the dataset instead.
+    private static final String PAIRS_PATH = System.getProperty("conflict.warmup.pairs");
+    /// Number of pairs to draw from the dataset, as set by the `conflict.warmup.samplePairs`
+    /// property.
+    private static final int SAMPLE_PAIRS = Integer.getInteger("conflict.warmup.samplePairs", 1000);
+    /// Number of checks in each round, as set by the `conflict.warmup.roundSize` property.
+    private static final int ROUND_SIZE = Integer.getInteger("conflict.warmup.roundSize", 500);
+    /// How much the p99 latency may change between rounds, as a fraction, for the rounds to
+    /// count as stable. Set by the `conflict.warmup.tolerance` property.
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("conflict.warmup.tolerance", "0.1"));
+    /// Number of stable rounds in a row that end the warm-up, as set by the
+    /// `conflict.warmup.stableRounds` property.
+    private static final int STABLE_ROUNDS = Integer.getInteger("conflict.warmup.stableRounds", 3);
+    /// How long the warm-up may take before the instance reports ready anyway, as set by the
+    /// `conflict.warmup.maxSeconds` property.
+    private static final long MAX_NANOS = TimeUnit.SECONDS.toNanos(Long.getLong("conflict.warmup.maxSeconds", 120));
+    /// Number of checks to run at once, as set by the `conflict.warmup.threads` property. By
+    /// default, there is one for each query thread.
+    private static final int THREADS = Math.max(Integer.getInteger("conflict.warmup.threads",
+            KnowledgeGraph.getQueryThreads()), 1);
+
+    /// Base URI of the requests. Only the path under it is matched to a resource.
+    private static final URI BASE_URI = URI.create("http://localhost/api/");
+
+    /// Fraction of the drawn pairs that have a misspelled name, so that the search for similar
+    /// names is warmed up too.
+    private static final double MISSPELLED_FRACTION = 0.05;
+    /// Seed for drawing pairs, so that every instance warms up with the same ones.
+    private static final long SEED = 8380;
+
+    private WarmUp() {}
+
+    /**
+     * @return True if the graph should be warmed up after it is loaded.
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Runs conflict checks until their latency stabilizes. A failed warm-up only means that
+     * the first requests are slower, so errors are logged rather than thrown.
+     * @param dataset The dataset to warm up against, which the caller holds a reference to.
+     * @param listener Notified of the progress of each round.
+     */
+    public static void run(Dataset dataset, ProgressListener listener) {
+        List<Check> checks = PAIRS_PATH != null ? readPairs(PAIRS_PATH) : null;
+        if (checks == null || checks.isEmpty()) {
+            checks = samplePairs(dataset, SAMPLE_PAIRS, new Random(SEED));
+        }
+        if (checks.isEmpty()) {
+            LOGGER.warning("Skipping the warm-up, since there are no pairs to check");
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        int numRounds = 0;
+        long p99 = -1;
+        AtomicInteger numFailed = new AtomicInteger();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "conflict-warmup-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            // The resources and providers are the ones that the server registers.
+            ApplicationHandler handler = new ApplicationHandler(
+                    new ResourceConfig().packages(WarmUp.class.getPackage().getName()));
+            long[] latencies = new long[Math.max(ROUND_SIZE, 1)];
+            int next = 0;
+            int numStable = 0;
+            while (numStable < STABLE_ROUNDS) {
+                if (System.nanoTime() - startTime > MAX_NANOS) {
+                    LOGGER.warning("Latency did not stabilize within the warm-up time limit");
+                    break;
+                }
+
+                ConflictChecker.clearCache();
+                List<Check> round = new ArrayList<>(latencies.length);
+                for (int i = 0; i < latencies.length; ++i) {
+                    round.add(checks.get(next));
+                    next = (next + 1) % checks.size();
+                }
+                AtomicInteger claimed = new AtomicInteger();
+                List<Callable<Void>> workers = new ArrayList<>();
+                for (int i = 0; i < THREADS; ++i) {
+                    workers.add(() -> {
+                        for (int check = claimed.getAndIncrement(); check < latencies.length;
+                             check = claimed.getAndIncrement()) {
+                            long checkStartTime = System.nanoTime();
+                            // Alternate between the endpoints, so that both are warmed up.
+                            if (!round.get(check).run(handler, check % 2 == 1)) {
+                                numFailed.incrementAndGet();
+                            }
+                            latencies[check] = System.nanoTime() - checkStartTime;
+                        }
+                        return null;
+                    });
+                }
+                for (Future<Void> worker : executor.invokeAll(workers)) {
+                    worker.get();
+                }
+
+                Arrays.sort(latencies);
+                long previousP99 = p99;
+                p99 = latencies[(int) Math.ceil(latencies.length * 0.99) - 1];
+                boolean stable = previousP99 >= 0 && Math.abs(p99 - previousP99) <= TOLERANCE * previousP99;
+                numStable = stable ? numStable + 1 : 0;
+                ++numRounds;
+                listener.notifyProgress(100, String.format("Warming up (round %d, p99 %.2f ms)",
+                        numRounds, p99 / 1e6));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warning("Warm-up was interrupted after " + numRounds + " rounds");
+            return;
+        } catch (ExecutionException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Warm-up failed after " + numRounds + " rounds", e);
+            return;
+        } finally {
+            executor.shutdownNow();
+            // Results from the warm-up should not take the place of real ones.
+            ConflictChecker.clearCache();
+        }
+        LOGGER.info(String.format("Warmed up with %d checks of %d pairs on %d threads in %d ms (p99 %.2f ms, %d failed)",
+                (long) numRounds * Math.max(ROUND_SIZE, 1), checks.size(), THREADS,
+                (System.nanoTime() - startTime) / 1_000_000, p99 / 1e6, numFailed.get()));
+    }
+
+    /**
+     * Reads pairs to check from a file. Each line has two names separated by a tab, and may
+     * have the number of hops after another tab. Blank lines and lines starting with `#` are
+     * skipped.
+     * @param path The path to the file.
+     * @return The checks, or null if the file could not be read.
+     */
+    private static List<Check> readPairs(String path) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(Paths.get(path), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not read warm-up pairs from " + path + ", drawing them instead", e);
+            return null;
+        }
+
+        List<Check> checks = new ArrayList<>();
+        for (String line : lines) {
+            if (line.trim().isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\t");
+            int hops = 1;
+            if (fields.length > 2) {
+                try {
+                    hops = Math.min(Math.max(Integer.parseInt(fields[2].trim()), 1), ConflictChecker.MAX_HOPS);
+                } catch (NumberFormatException e) {
+                    hops = 1;
+                }
+            }
+            if (fields.length >= 2) {
+                checks.add(new Check(fields[0], fields[1], hops));
+            }
+        }
+        return checks;
+    }
+
+    /**
+     * Draws pairs to check from the authors in a dataset. Authors are drawn by picking a
+     * random paper and then one of its authors, so prolific authors come up most often, as
+     * they do in real traffic. Half of the pairs are co-authors of the same paper.
+     * @param dataset The dataset.
+     * @param numPairs The number of pairs to draw.
+     * @param random The random number generator.
+     * @return The checks.
+     */
+    private static List<Check> samplePairs(Dataset dataset, int numPairs, Random random) {
+        CoauthorshipIndex index = dataset.getIndex();
+        HdtLookup lookup = dataset.getLookup();
+        List<Check> checks = new ArrayList<>();
+        if (index.getNumPapers() == 0) {
+            return checks;
+        }
+
+        // Give up on papers without authors after a while, rather than loop forever.
+        for (int attempt = 0; attempt < numPairs * 4 && checks.size() < numPairs; ++attempt) {
+            int paper = random.nextInt(index.getNumPapers());
+            int otherPaper = random.nextBoolean() ? paper : random.nextInt(index.getNumPapers());
+            String first = randomAuthorName(index, lookup, paper, random);
+            String second = randomAuthorName(index, lookup, otherPaper, random);
+            if (first == null || second == null) {
+                continue;
+            }
+            if (random.nextDouble() < MISSPELLED_FRACTION && second.length() > 1) {
+                int dropped = random.nextInt(second.length());
+                second = second.substring(0, dropped) + second.substring(dropped + 1);
+            }
+            checks.add(new Check(first, second, 1));
+        }
+        return checks;
+    }
+
+    /**
+     * @return The name of a random author of a paper, or null if it has no named authors.
+     */
+    private static String randomAuthorName(CoauthorshipIndex index, HdtLookup lookup, int paper, Random random) {
+        int numAuthors = index.authorsEnd(paper) - index.authorsStart(paper);
+        if (numAuthors == 0) {
+            return null;
+        }
+        int author = index.authorAt(index.authorsStart(paper) + random.nextInt(numAuthors));
+        return lookup.nameOf(index.authorId(author));
+    }
+
+    /**
+     * A conflict check to run during the warm-up.
+     */
+    private static final class Check {
+        private final String firstName;
+        private final String secondName;
+        private final int hops;
+
+        Check(String firstName, String secondName, int hops) {
+            this.firstName = firstName;
+            this.secondName = secondName;
+            this.hops = hops;
+        }
+
+        /**
+         * Sends the check to the app as a request, and waits for the response to be written.
+         * @param handler The handler for the app's resources.
+         * @param async True to send it to `/check_names/async` instead of `/check_names`.
+         * @return False if the check did not succeed, such as when it timed out.
+         */
+        boolean run(ApplicationHandler handler, boolean async)
+                throws InterruptedException, ExecutionException {
+            URI uri = BASE_URI.resolve((async ? "check_names/async" : "check_names")
+                    + "?firstName=" + encode(firstName) + "&secondName=" + encode(secondName) + "&hops=" + hops);
+            ContainerRequest request = new ContainerRequest(BASE_URI, uri, "GET", null,
+                    new MapPropertiesDelegate(), handler.getConfiguration());
+            ContainerResponse response = handler.apply(request, new ByteArrayOutputStream()).get();
+            return response.getStatus() == 200;
+        }
+
+        private static String encode(String value) {
+            try {
+                // Spaces are escaped as %20 rather than +, which some decoders leave alone.
+                return URLEncoder.encode(value, "UTF-8").replace("+", "%20");
+            } catch (UnsupportedEncodingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.csci8380.project1;
+
+/**
+ * An inclusive range of publication years.
+ */
+public final class YearRange {
+
+    /// The range that includes every year.
+    public static final YearRange ALL = new YearRange(Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+    private final int since;
+    private final int until;
+
+    /**
+     * @param since The first year in the range.
+     * @param until The last year in the range.
+     */
+    public YearRange(int since, int until) {
+        this.since = since;
+        this.until = until;
+    }
+
+    /**
+     * Creates a range that may be unbounded at either end.
+     * @param since The first year in the range, or null for no lower bound.
+     * @param until The last year in the range, or null for no upper bound.
+     * @return The range.
+     */
+    public static YearRange of(Integer since, Integer until) {
+        if (since == null && until == null) {
+            return ALL;
+        }
+        return new YearRange(since != null ? since : Integer.MIN_VALUE, until != null ? until : Integer.MAX_VALUE);
+    }
+
+    public int getSince() {
+        return since;
+    }
+
+    public int getUntil() {
+        return until;
+    }
+
+    /**
+     * @return True if the range does not contain any years.
+     */
+    public boolean isEmpty() {
+        return since > until;
+    }
+
+    /**
+     * @param year A publication year.
+     * @return True if the year is in the range.
+     */
+    public boolean contains(int year) {
+        return year >= since && year <= until;
+    }
+
+    @Override
+    public String toString() {
+        return (since == Integer.MIN_VALUE ? "" : Integer.toString(since)) + "-"
+                + (until == Integer.MAX_VALUE ? "" : Integer.toString(until));
+    }
+}
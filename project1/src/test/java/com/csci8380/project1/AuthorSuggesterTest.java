@@ -0,0 +1,67 @@
+package com.csci8380.project1;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rdfhdt.hdt.exceptions.ParserException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the names that {@link AuthorSuggester} suggests, both for short prefixes, which are
+ * ranked in advance, and for longer ones.
+ */
+class AuthorSuggesterTest {
+
+    @TempDir
+    static Path directory;
+
+    private static Dataset dataset;
+
+    @BeforeAll
+    static void loadGraph() throws IOException, ParserException {
+        dataset = TestGraph.open(TestGraph.write(directory), "index");
+    }
+
+    @AfterAll
+    static void releaseGraph() {
+        dataset.release();
+    }
+
+    @Test
+    void shortPrefixesRankNamesByPapers() {
+        assertEquals(Arrays.asList(TestGraph.ALICE + " 3", TestGraph.ALAN + " 1"), suggest("A", 10));
+        assertEquals(Collections.singletonList(TestGraph.ALICE + " 3"), suggest("Al", 1));
+        assertEquals(Collections.singletonList(TestGraph.ALAN + " 1"), suggest("ala", 10));
+    }
+
+    @Test
+    void longPrefixesRankNamesByPapers() {
+        assertEquals(Collections.singletonList(TestGraph.ALICE + " 3"), suggest("alice s", 10));
+        // Both people with this name count.
+        assertEquals(Collections.singletonList(TestGraph.FRANK + " 2"), suggest("Frank", 10));
+        assertEquals(Collections.singletonList(TestGraph.JOSE + " 1"), suggest("José N", 10));
+    }
+
+    @Test
+    void titlesAreNotSuggested() {
+        assertEquals(Collections.emptyList(), suggest("Working", 10));
+        assertEquals(Collections.emptyList(), suggest("Com", 10));
+    }
+
+    private static List<String> suggest(String prefix, int limit) {
+        List<String> names = new ArrayList<>();
+        for (AuthorSuggestion suggestion : dataset.getSuggester().find(prefix, limit)) {
+            names.add(suggestion.getName() + " " + suggestion.getPaperCount());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,115 @@
+package com.csci8380.project1;
+
+import jakarta.ws.rs.BadRequestException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rdfhdt.hdt.exceptions.ParserException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that {@link BatchChecker} answers every pair of a batch in order, and that
+ * {@link BatchCheckResource} turns away batches that are too large.
+ */
+class BatchCheckerTest {
+
+    @TempDir
+    static Path directory;
+
+    private static Dataset dataset;
+
+    @BeforeAll
+    static void loadGraph() throws IOException, ParserException {
+        dataset = TestGraph.open(TestGraph.write(directory), "index");
+    }
+
+    @AfterAll
+    static void releaseGraph() {
+        dataset.release();
+    }
+
+    @Test
+    void answersPairsInTheOrderOfTheRequest() throws InterruptedException {
+        String[] names = {TestGraph.ALICE, TestGraph.BOB, TestGraph.CAROL, TestGraph.DAVE, TestGraph.ERIN,
+                TestGraph.JOSE, TestGraph.ALAN};
+        List<NamePair> pairs = new ArrayList<>();
+        for (String first : names) {
+            for (String second : names) {
+                pairs.add(pair(first, second));
+            }
+        }
+
+        // Each result is tagged with its pair, since many pairs have the same answer.
+        List<ConflictCheckResult> results = BatchChecker.checkAll(pairs, pair -> {
+            ConflictCheckResult result = new ConflictCheckResult();
+            result.setLevel(check(pair).getLevel());
+            result.setDatasetVersion(pair.getFirstName() + "/" + pair.getSecondName());
+            return result;
+        });
+        assertEquals(pairs.size(), results.size());
+        for (int i = 0; i < pairs.size(); ++i) {
+            NamePair pair = pairs.get(i);
+            assertEquals(pair.getFirstName() + "/" + pair.getSecondName(), results.get(i).getDatasetVersion());
+            assertEquals(check(pair).getLevel(), results.get(i).getLevel());
+        }
+    }
+
+    @Test
+    void reportsAFailedPairWithoutFailingTheRest() throws InterruptedException {
+        List<NamePair> pairs = Arrays.asList(
+                pair(TestGraph.ALICE, TestGraph.BOB),
+                pair(TestGraph.CAROL, "Slow"),
+                pair(TestGraph.DAVE, "Busy"),
+                pair(TestGraph.CAROL, TestGraph.ERIN));
+        List<ConflictCheckResult> results = BatchChecker.checkAll(pairs, pair -> {
+            switch (pair.getSecondName()) {
+                case "Slow":
+                    throw new QueryTimeoutException(10);
+                case "Busy":
+                    throw new RejectedExecutionException();
+                default:
+                    return check(pair);
+            }
+        });
+
+        assertNull(results.get(0).getError());
+        assertEquals(ConflictLevel.forPaperCount(2), results.get(0).getLevel());
+        assertEquals("query_timeout", results.get(1).getError().getError());
+        assertEquals("overloaded", results.get(2).getError().getError());
+        assertNull(results.get(3).getError());
+        assertEquals(ConflictLevel.forPaperCount(1), results.get(3).getLevel());
+    }
+
+    @Test
+    void rejectsABatchThatIsTooLarge() {
+        List<NamePair> pairs = Collections.nCopies(BatchChecker.MAX_PAIRS + 1, pair(TestGraph.ALICE, TestGraph.BOB));
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> new BatchCheckResource().checkBatch(pairs));
+        assertEquals(400, exception.getResponse().getStatus());
+
+        assertThrows(BadRequestException.class, () -> new BatchCheckResource().checkBatch(null));
+    }
+
+    private static ConflictCheckResult check(NamePair pair) {
+        return ConflictChecker.check(dataset, pair.getFirstName(), pair.getSecondName(), 1, YearRange.ALL);
+    }
+
+    private static NamePair pair(String firstName, String secondName) {
+        NamePair pair = new NamePair();
+        pair.setFirstName(firstName);
+        pair.setSecondName(secondName);
+        return pair;
+    }
+}
@@ -0,0 +1,81 @@
+package com.csci8380.project1;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rdfhdt.hdt.exceptions.ParserException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks the results that {@link ConflictChecker} gives when they come from its cache, which
+ * holds each pair once for either order of the names.
+ */
+class ConflictCheckerTest {
+
+    @TempDir
+    static Path directory;
+
+    private static Dataset dataset;
+
+    @BeforeAll
+    static void loadGraph() throws IOException, ParserException {
+        dataset = TestGraph.open(TestGraph.write(directory), "index");
+    }
+
+    @AfterAll
+    static void releaseGraph() {
+        dataset.release();
+    }
+
+    @Test
+    void reversedPairKeepsCandidatesWithTheirNames() {
+        String misspelled = "Bob Jnoes";
+        ConflictCheckResult forward = ConflictChecker.check(dataset, TestGraph.ALICE, misspelled, 1, YearRange.ALL);
+        long hits = ConflictChecker.getCacheStats().getHits();
+        ConflictCheckResult reversed = ConflictChecker.check(dataset, misspelled, TestGraph.ALICE, 1, YearRange.ALL);
+        assertEquals(hits + 1, ConflictChecker.getCacheStats().getHits());
+
+        assertNull(forward.getFirstNameCandidates());
+        assertFalse(forward.getSecondNameCandidates().isEmpty());
+        assertEquals(TestGraph.BOB, forward.getSecondNameCandidates().get(0).getName());
+
+        assertFalse(reversed.getFirstNameCandidates().isEmpty());
+        assertEquals(TestGraph.BOB, reversed.getFirstNameCandidates().get(0).getName());
+        assertNull(reversed.getSecondNameCandidates());
+    }
+
+    @Test
+    void resultKeyDependsOnTheOrderOfTheNames() {
+        assertEquals(ConflictChecker.resultKey(TestGraph.ALICE, TestGraph.BOB, 1, YearRange.ALL),
+                ConflictChecker.resultKey(" " + TestGraph.ALICE, TestGraph.BOB + " ", 1, YearRange.ALL));
+        assertNotEquals(ConflictChecker.resultKey(TestGraph.ALICE, TestGraph.BOB, 1, YearRange.ALL),
+                ConflictChecker.resultKey(TestGraph.BOB, TestGraph.ALICE, 1, YearRange.ALL));
+    }
+
+    @Test
+    void reversedPairGetsPathsInItsOwnDirection() {
+        // Checked the other way around from the order of the cache key first, so that the
+        // result is turned round when it is cached and when it is served.
+        ConflictCheckResult reversed = ConflictChecker.check(dataset, TestGraph.ERIN, TestGraph.ALICE, 2, YearRange.ALL);
+        long hits = ConflictChecker.getCacheStats().getHits();
+        ConflictCheckResult forward = ConflictChecker.check(dataset, TestGraph.ALICE, TestGraph.ERIN, 2, YearRange.ALL);
+        assertEquals(hits + 1, ConflictChecker.getCacheStats().getHits());
+
+        assertEquals(ConflictLevel.INDIRECT, forward.getLevel());
+        assertEquals(Arrays.asList(TestGraph.ALICE, TestGraph.CAROL, TestGraph.ERIN),
+                forward.getPaths().get(0).getAuthors());
+        assertEquals(ConflictLevel.INDIRECT, reversed.getLevel());
+        assertEquals(Arrays.asList(TestGraph.ERIN, TestGraph.CAROL, TestGraph.ALICE),
+                reversed.getPaths().get(0).getAuthors());
+        assertEquals("Compressed Indexes", reversed.getPaths().get(0).getPapers().get(0).getName());
+    }
+}
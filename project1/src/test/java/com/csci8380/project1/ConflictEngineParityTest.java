@@ -0,0 +1,136 @@
+package com.csci8380.project1;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rdfhdt.hdt.exceptions.ParserException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the native and index conflict engines give the same results as the SPARQL
+ * engine that they replace.
+ */
+class ConflictEngineParityTest {
+
+    @TempDir
+    static Path directory;
+
+    private static Dataset sparql;
+    private static Dataset nativeEngine;
+    private static Dataset indexEngine;
+
+    @BeforeAll
+    static void loadGraph() throws IOException, ParserException {
+        Path path = TestGraph.write(directory);
+        sparql = TestGraph.open(path, "sparql");
+        nativeEngine = TestGraph.open(path, "native");
+        indexEngine = TestGraph.open(path, "index");
+    }
+
+    @AfterAll
+    static void releaseGraph() {
+        sparql.release();
+        nativeEngine.release();
+        indexEngine.release();
+    }
+
+    @Test
+    void sparqlFindsSharedPapers() {
+        ConflictCheckResult result = check(sparql, TestGraph.ALICE, TestGraph.BOB, YearRange.ALL);
+        assertEquals(ConflictLevel.forPaperCount(2), result.getLevel());
+        assertEquals(2, result.getPapers().size());
+        assertEquals(2010, result.getPapers().get(0).getYear());
+        assertEquals(1, check(sparql, TestGraph.ALICE, TestGraph.BOB, YearRange.of(2005, null)).getPapers().size());
+        assertEquals("A \"Quoted\" Title",
+                check(sparql, TestGraph.BOB, TestGraph.DAVE, YearRange.ALL).getPapers().get(0).getName());
+    }
+
+    @Test
+    void nativeEngineMatchesSparql() {
+        assertSameResults(nativeEngine);
+    }
+
+    @Test
+    void indexEngineMatchesSparql() {
+        assertSameResults(indexEngine);
+    }
+
+    private static void assertSameResults(Dataset candidate) {
+        String[][] pairs = {
+                // Co-authors.
+                {TestGraph.ALICE, TestGraph.BOB},
+                {TestGraph.BOB, TestGraph.ALICE},
+                {TestGraph.ALICE, TestGraph.CAROL},
+                {TestGraph.BOB, TestGraph.DAVE},
+                {TestGraph.JOSE, TestGraph.ERIN},
+                // Either of the two people with this name.
+                {TestGraph.FRANK, TestGraph.ALICE},
+                {TestGraph.DAVE, TestGraph.FRANK},
+                // No shared papers.
+                {TestGraph.ALICE, TestGraph.DAVE},
+                {TestGraph.ALICE, TestGraph.ERIN},
+                {TestGraph.ALICE, TestGraph.ALICE},
+                // Unknown names.
+                {TestGraph.ALICE, "Alice Smyth"},
+                {"Nobody At All", TestGraph.BOB},
+                {"Nobody At All", "Someone Else"},
+                {"", ""},
+        };
+        YearRange[] ranges = {
+                YearRange.ALL,
+                YearRange.of(2005, null),
+                YearRange.of(null, 2001),
+                YearRange.of(2002, 2009),
+                YearRange.of(2010, 2010),
+        };
+        for (String[] pair : pairs) {
+            for (YearRange years : ranges) {
+                assertEquals(describe(check(sparql, pair[0], pair[1], years)),
+                        describe(check(candidate, pair[0], pair[1], years)),
+                        () -> "(" + pair[0] + ", " + pair[1] + ") in " + years);
+            }
+        }
+    }
+
+    private static ConflictCheckResult check(Dataset dataset, String firstName, String secondName,
+                                             YearRange years) {
+        return ConflictChecker.checkUncached(dataset, ConflictChecker.normalizeName(firstName),
+                ConflictChecker.normalizeName(secondName), 1, years);
+    }
+
+    /**
+     * Describes a result in a form that can be compared. Papers from the same year may come
+     * back in any order, so they are sorted by title within each year.
+     */
+    private static String describe(ConflictCheckResult result) {
+        List<Paper> papers = new ArrayList<>(result.getPapers());
+        papers.sort(Comparator.comparing(Paper::getYear).reversed().thenComparing(Paper::getName));
+        StringBuilder description = new StringBuilder(String.valueOf(result.getLevel()));
+        for (Paper paper : papers) {
+            description.append("\n").append(paper.getYear()).append(": ").append(paper.getName());
+        }
+        description.append("\nfirst: ").append(describeCandidates(result.getFirstNameCandidates()));
+        description.append("\nsecond: ").append(describeCandidates(result.getSecondNameCandidates()));
+        description.append("\nversion: ").append(result.getDatasetVersion());
+        return description.toString();
+    }
+
+    private static String describeCandidates(List<AuthorSuggestion> candidates) {
+        if (candidates == null) {
+            return "null";
+        }
+        StringBuilder description = new StringBuilder();
+        for (AuthorSuggestion candidate : candidates) {
+            description.append(candidate.getName()).append(" (").append(candidate.getPaperCount()).append(") ");
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,91 @@
+package com.csci8380.project1;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rdfhdt.hdt.exceptions.ParserException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the cells that {@link ConflictMatrix} finds, however its rows are split up.
+ */
+class ConflictMatrixTest {
+
+    @TempDir
+    static Path directory;
+
+    private static Dataset dataset;
+
+    @BeforeAll
+    static void loadGraph() throws IOException, ParserException {
+        dataset = TestGraph.open(TestGraph.write(directory), "index");
+    }
+
+    @AfterAll
+    static void releaseGraph() {
+        dataset.release();
+    }
+
+    @Test
+    void findsSharedPapersInOrder() {
+        List<Submission> submissions = Arrays.asList(
+                submission("s1", TestGraph.BOB),
+                submission("s2", TestGraph.CAROL, TestGraph.ERIN),
+                // Both people with this name.
+                submission("s3", TestGraph.FRANK),
+                submission("s4"));
+        ConflictMatrix matrix = ConflictMatrix.prepare(dataset, submissions);
+        List<MatrixCell> cells = matrix.computeRows(dataset,
+                Arrays.asList(TestGraph.ALICE, "Nobody At All", TestGraph.DAVE));
+
+        assertEquals(Arrays.asList(
+                TestGraph.ALICE + " s1 2", TestGraph.ALICE + " s2 1", TestGraph.ALICE + " s3 1",
+                TestGraph.DAVE + " s1 1", TestGraph.DAVE + " s3 1"), describe(cells));
+        assertEquals(ConflictLevel.forPaperCount(2), cells.get(0).getLevel());
+    }
+
+    @Test
+    void rowsDoNotDependOnHowTheyAreSplit() {
+        List<Submission> submissions = new ArrayList<>();
+        String[] names = {TestGraph.ALICE, TestGraph.BOB, TestGraph.CAROL, TestGraph.DAVE, TestGraph.ERIN,
+                TestGraph.FRANK, TestGraph.JOSE, TestGraph.ALAN};
+        for (int i = 0; i < names.length; ++i) {
+            submissions.add(submission("s" + i, names[i], names[(i + 3) % names.length]));
+        }
+        List<String> reviewers = Arrays.asList(names);
+        ConflictMatrix matrix = ConflictMatrix.prepare(dataset, submissions);
+
+        List<MatrixCell> whole = matrix.computeRows(dataset, reviewers);
+        List<MatrixCell> split = new ArrayList<>();
+        for (String reviewer : reviewers) {
+            split.addAll(matrix.computeRows(dataset, Collections.singletonList(reviewer)));
+        }
+        assertTrue(whole.size() > names.length);
+        assertEquals(describe(whole), describe(split));
+    }
+
+    private static Submission submission(String id, String... authors) {
+        Submission submission = new Submission();
+        submission.setId(id);
+        submission.setAuthors(Arrays.asList(authors));
+        return submission;
+    }
+
+    private static List<String> describe(List<MatrixCell> cells) {
+        List<String> descriptions = new ArrayList<>();
+        for (MatrixCell cell : cells) {
+            descriptions.add(cell.getReviewer() + " " + cell.getSubmission() + " " + cell.getSharedPapers());
+        }
+        return descriptions;
+    }
+}
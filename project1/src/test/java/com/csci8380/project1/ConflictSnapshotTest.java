@@ -0,0 +1,181 @@
+package com.csci8380.project1;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rdfhdt.hdt.exceptions.ParserException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that {@link ConflictSnapshot} maps back the indexes that it wrote, and that it
+ * rejects snapshots that are stale or damaged.
+ */
+class ConflictSnapshotTest {
+
+    /// Offset in the header of the offset of the first section.
+    private static final int FIRST_SECTION_OFFSET = 40;
+
+    @TempDir
+    static Path directory;
+
+    private static Path hdtPath;
+    private static Dataset dataset;
+
+    @BeforeAll
+    static void loadGraph() throws IOException, ParserException {
+        hdtPath = TestGraph.write(directory);
+        dataset = TestGraph.open(hdtPath, "index");
+    }
+
+    @AfterAll
+    static void releaseGraph() {
+        dataset.release();
+    }
+
+    @Test
+    void mapsTheIndexesThatWereWritten() throws IOException {
+        CoauthorshipIndex built = dataset.getIndex();
+        FuzzyNameIndex builtFuzzy = FuzzyNameIndex.build(built.getNames(), (level, message) -> {});
+        ConflictSnapshot snapshot = ConflictSnapshot.open(write("round-trip.snap"), hdtPath);
+        CoauthorshipIndex mapped = snapshot.getIndex();
+        FuzzyNameIndex mappedFuzzy = snapshot.getFuzzyIndex();
+
+        assertEquals(built.getPaperIds(), mapped.getPaperIds());
+        assertEquals(built.getPaperYears(), mapped.getPaperYears());
+        assertEquals(built.getAuthorIds(), mapped.getAuthorIds());
+        assertEquals(built.getPaperAuthorOffsets(), mapped.getPaperAuthorOffsets());
+        assertEquals(built.getPaperAuthors(), mapped.getPaperAuthors());
+        assertEquals(built.getAuthorPaperOffsets(), mapped.getAuthorPaperOffsets());
+        assertEquals(built.getAuthorPapers(), mapped.getAuthorPapers());
+        for (int paper = 0; paper < built.getNumPapers(); ++paper) {
+            assertEquals(dataset.getLookup().titleOf(built.paperId(paper)), mapped.paper(paper).getName());
+        }
+
+        AuthorNames builtNames = built.getNames();
+        AuthorNames mappedNames = mapped.getNames();
+        assertEquals(builtNames.size(), mappedNames.size());
+        for (int name = 0; name < builtNames.size(); ++name) {
+            assertEquals(builtNames.get(name), mappedNames.get(name));
+            assertArrayEquals(builtNames.authorsOf(name), mappedNames.authorsOf(name));
+        }
+        assertArrayEquals(built.authorsNamed(TestGraph.FRANK), mapped.authorsNamed(TestGraph.FRANK));
+
+        assertEquals(builtFuzzy.getKeys(), mappedFuzzy.getKeys());
+        assertEquals(builtFuzzy.getKeyOffsets(), mappedFuzzy.getKeyOffsets());
+        assertEquals(builtFuzzy.getTrigrams(), mappedFuzzy.getTrigrams());
+        assertEquals(builtFuzzy.getTrigramNameOffsets(), mappedFuzzy.getTrigramNameOffsets());
+        assertEquals(builtFuzzy.getTrigramNames(), mappedFuzzy.getTrigramNames());
+        long budget = TimeUnit.SECONDS.toNanos(10);
+        assertArrayEquals(builtFuzzy.search("Alise Smith", 5, budget), mappedFuzzy.search("Alise Smith", 5, budget));
+    }
+
+    @Test
+    void rejectsASnapshotOfADifferentLength() throws IOException {
+        Path snapshot = write("length.snap");
+        Path longer = directory.resolve("longer.hdt");
+        Files.copy(hdtPath, longer);
+        Files.write(longer, new byte[1], StandardOpenOption.APPEND);
+        assertRejected(snapshot, longer, "different HDT file");
+    }
+
+    @Test
+    void rejectsASnapshotOfADifferentFile() throws IOException {
+        Path snapshot = write("fingerprint.snap");
+        Path changed = directory.resolve("changed.hdt");
+        byte[] bytes = Files.readAllBytes(hdtPath);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(changed, bytes);
+        assertRejected(snapshot, changed, "different HDT file");
+    }
+
+    @Test
+    void rejectsATruncatedSnapshot() throws IOException {
+        Path snapshot = write("truncated.snap");
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() / 2);
+        }
+        assertRejected(snapshot, hdtPath, "truncated");
+
+        // Too short to even hold the header.
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            channel.truncate(10);
+        }
+        assertRejected(snapshot, hdtPath, "truncated");
+    }
+
+    @Test
+    void rejectsABadMagicNumber() throws IOException {
+        Path snapshot = write("magic.snap");
+        overwrite(snapshot, 0, ByteBuffer.allocate(8).putLong(0, 0x1234));
+        assertRejected(snapshot, hdtPath, "not a conflict snapshot");
+    }
+
+    @Test
+    void rejectsABadVersion() throws IOException {
+        Path snapshot = write("version.snap");
+        overwrite(snapshot, 8, ByteBuffer.allocate(4).putInt(0, ConflictSnapshot.VERSION + 1));
+        assertRejected(snapshot, hdtPath, "version " + (ConflictSnapshot.VERSION + 1));
+    }
+
+    @Test
+    void rejectsACorruptSnapshotWhenVerifying() throws IOException {
+        Path snapshot = write("corrupt.snap");
+        long firstSection;
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            ByteBuffer offset = ByteBuffer.allocate(8);
+            channel.read(offset, FIRST_SECTION_OFFSET);
+            firstSection = offset.getLong(0);
+        }
+        overwrite(snapshot, firstSection, ByteBuffer.allocate(8).putLong(0, -1));
+
+        // The checksum is only checked when asked for.
+        ConflictSnapshot.open(snapshot, hdtPath);
+        System.setProperty(ConflictSnapshot.VERIFY_PROPERTY, "true");
+        try {
+            assertRejected(snapshot, hdtPath, "corrupt");
+        } finally {
+            System.clearProperty(ConflictSnapshot.VERIFY_PROPERTY);
+        }
+    }
+
+    @Test
+    void acceptsAnIntactSnapshotWhenVerifying() throws IOException {
+        Path snapshot = write("intact.snap");
+        System.setProperty(ConflictSnapshot.VERIFY_PROPERTY, "true");
+        try {
+            assertEquals(dataset.getIndex().getNumPapers(), ConflictSnapshot.open(snapshot, hdtPath).getIndex().getNumPapers());
+        } finally {
+            System.clearProperty(ConflictSnapshot.VERIFY_PROPERTY);
+        }
+    }
+
+    private static Path write(String name) throws IOException {
+        Path snapshot = directory.resolve(name);
+        ConflictSnapshot.write(snapshot, hdtPath, dataset.getIndex(), dataset.getLookup(), (level, message) -> {});
+        return snapshot;
+    }
+
+    private static void overwrite(Path snapshot, long position, ByteBuffer bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            channel.write(bytes, position);
+        }
+    }
+
+    private static void assertRejected(Path snapshot, Path hdt, String reason) {
+        IOException exception = assertThrows(IOException.class, () -> ConflictSnapshot.open(snapshot, hdt));
+        assertTrue(exception.getMessage().contains(reason), exception.getMessage());
+    }
+}
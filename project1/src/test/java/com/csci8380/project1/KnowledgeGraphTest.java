@@ -0,0 +1,95 @@
+package com.csci8380.project1;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Checks how {@link KnowledgeGraph} loads and swaps the graph. It has a single current
+ * dataset for the whole JVM, so the tests run in order: the first starts without a graph,
+ * and leaves it loaded for the rest.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class KnowledgeGraphTest {
+
+    /// How long to wait for a background load.
+    private static final long TIMEOUT_SECONDS = 30;
+
+    @TempDir
+    static Path directory;
+
+    @Test
+    @Order(1)
+    void retriesAFailedLoad() throws Exception {
+        System.setProperty("dblp.load.retrySeconds", "0");
+        System.setProperty("dblp.path", directory.resolve("missing.hdt").toString());
+        KnowledgeGraph.startLoading();
+        await(() -> KnowledgeGraph.getStatus().getError() != null);
+        assertFalse(KnowledgeGraph.getStatus().isReady());
+        assertNotNull(KnowledgeGraph.getStatus().getError());
+
+        // Once the file is there, the next request loads it.
+        System.setProperty("dblp.path", TestGraph.write(directory).toString());
+        await(() -> {
+            KnowledgeGraph.startLoading();
+            return KnowledgeGraph.graphIsLoaded();
+        });
+        await(() -> KnowledgeGraph.getStatus().isReady());
+        assertNull(KnowledgeGraph.getStatus().getError());
+    }
+
+    @Test
+    @Order(2)
+    void keepsASwappedOutDatasetOpenUntilItIsReleased() throws Exception {
+        Dataset previous = KnowledgeGraph.acquireDataset();
+        ConflictChecker.check(TestGraph.ALICE, TestGraph.BOB);
+        CacheStats before = ConflictChecker.getCacheStats();
+        ConflictChecker.check(TestGraph.ALICE, TestGraph.BOB);
+        assertEquals(before.getHits() + 1, ConflictChecker.getCacheStats().getHits());
+
+        KnowledgeGraph.swap(KnowledgeGraph.getDblpPath(), null);
+        assertTrue(KnowledgeGraph.getGeneration() > previous.getGeneration());
+        // The result from the previous dataset is dropped.
+        before = ConflictChecker.getCacheStats();
+        ConflictChecker.check(TestGraph.ALICE, TestGraph.BOB);
+        assertEquals(before.getHits(), ConflictChecker.getCacheStats().getHits());
+        assertEquals(before.getMisses() + 1, ConflictChecker.getCacheStats().getMisses());
+
+        // The previous dataset still answers checks that hold it, without clearing the
+        // results of the new one.
+        ConflictCheckResult result = ConflictChecker.check(previous, TestGraph.ALICE, TestGraph.BOB, 1, YearRange.ALL);
+        assertEquals(ConflictLevel.forPaperCount(2), result.getLevel());
+        before = ConflictChecker.getCacheStats();
+        ConflictChecker.check(TestGraph.ALICE, TestGraph.BOB);
+        assertEquals(before.getHits() + 1, ConflictChecker.getCacheStats().getHits());
+
+        // Releasing the last reference closes it.
+        assertTrue(previous.retain());
+        previous.release();
+        previous.release();
+        assertFalse(previous.retain());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Timed out waiting for the graph.");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
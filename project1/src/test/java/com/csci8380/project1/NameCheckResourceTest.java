@@ -0,0 +1,96 @@
+package com.csci8380.project1;
+
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rdfhdt.hdt.exceptions.ParserException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks that {@link NameCheckResource} answers a request for a result that the client
+ * already has with `304 Not Modified`, and only while the same dataset is loaded.
+ */
+class NameCheckResourceTest {
+
+    private static final URI BASE_URI = URI.create("http://localhost/api/");
+
+    @TempDir
+    static Path directory;
+
+    private static Dataset dataset;
+    private static ApplicationHandler handler;
+
+    @BeforeAll
+    static void loadGraph() throws IOException, ParserException {
+        dataset = TestGraph.open(TestGraph.write(directory), "index");
+        handler = new ApplicationHandler(new ResourceConfig(NameCheckResource.class));
+    }
+
+    @AfterAll
+    static void releaseGraph() {
+        dataset.release();
+    }
+
+    @Test
+    void answersAMatchingTagWithoutAQuery() throws Exception {
+        ConflictETags.datasetChanged(dataset);
+        String key = ConflictChecker.resultKey(TestGraph.ALICE, TestGraph.BOB, 1, YearRange.ALL);
+        EntityTag tag = ConflictETags.forDataset(dataset, key);
+        CacheStats before = ConflictChecker.getCacheStats();
+
+        ContainerResponse response = get(TestGraph.ALICE, TestGraph.BOB, tag);
+        assertEquals(304, response.getStatus());
+        assertEquals(tag, response.getEntityTag());
+        assertFalse(response.hasEntity());
+        // The check never reached the cache, let alone the graph.
+        CacheStats after = ConflictChecker.getCacheStats();
+        assertEquals(before.getHits() + before.getMisses(), after.getHits() + after.getMisses());
+    }
+
+    @Test
+    void changesTheTagWithTheDataset() throws Exception {
+        String key = ConflictChecker.resultKey(TestGraph.ALICE, TestGraph.BOB, 1, YearRange.ALL);
+        EntityTag tag = ConflictETags.forDataset(dataset, key);
+        Dataset other = new Dataset("other.hdt", "other-fingerprint", 0, null, null, null, null, null, null, null);
+        assertNotEquals(tag, ConflictETags.forDataset(other, key));
+
+        ConflictETags.datasetChanged(other);
+        try {
+            assertNotEquals(tag, ConflictETags.forCurrentDataset(key));
+            assertNull(NameCheckResource.notModified(request(TestGraph.ALICE, TestGraph.BOB, tag), key));
+        } finally {
+            ConflictETags.datasetChanged(dataset);
+        }
+    }
+
+    private static ContainerResponse get(String firstName, String secondName, EntityTag tag) throws Exception {
+        return handler.apply(request(firstName, secondName, tag), new ByteArrayOutputStream()).get();
+    }
+
+    private static ContainerRequest request(String firstName, String secondName, EntityTag tag) throws IOException {
+        URI uri = BASE_URI.resolve("check_names?firstName=" + URLEncoder.encode(firstName, "UTF-8")
+                + "&secondName=" + URLEncoder.encode(secondName, "UTF-8"));
+        ContainerRequest request = new ContainerRequest(BASE_URI, uri, "GET", null,
+                new MapPropertiesDelegate(), handler.getConfiguration());
+        request.header(HttpHeaders.IF_NONE_MATCH, tag.toString());
+        return request;
+    }
+}
@@ -0,0 +1,109 @@
+package com.csci8380.project1;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the keys, eviction and statistics of {@link PairCache}.
+ */
+class PairCacheTest {
+
+    private static final long GENERATION = 1;
+
+    @Test
+    void keyDoesNotDependOnTheOrderOfTheNames() {
+        assertEquals(PairCache.key("Alice", "Bob"), PairCache.key("Bob", "Alice"));
+        assertEquals(PairCache.key("Alice", "Bob", "hops=1"), PairCache.key("Bob", "Alice", "hops=1"));
+        assertFalse(PairCache.key("Alice", "Bob", "hops=1").equals(PairCache.key("Alice", "Bob", "hops=2")));
+        // The separator keeps names that run into each other apart.
+        assertFalse(PairCache.key("Al", "ice").equals(PairCache.key("Ali", "ce")));
+
+        assertFalse(PairCache.isReversed("Alice", "Bob"));
+        assertTrue(PairCache.isReversed("Bob", "Alice"));
+        assertFalse(PairCache.isReversed("Alice", "Alice"));
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        PairCache cache = new PairCache(2, 1, TimeUnit.HOURS);
+        ConflictCheckResult first = new ConflictCheckResult();
+        ConflictCheckResult second = new ConflictCheckResult();
+        ConflictCheckResult third = new ConflictCheckResult();
+        cache.get("first", GENERATION);
+        cache.put("first", first, GENERATION);
+        cache.put("second", second, GENERATION);
+        // Using the first entry makes the second the least recently used.
+        assertSame(first, cache.get("first", GENERATION));
+        cache.put("third", third, GENERATION);
+
+        assertSame(first, cache.get("first", GENERATION));
+        assertNull(cache.get("second", GENERATION));
+        assertSame(third, cache.get("third", GENERATION));
+        assertStats(cache, 2, 3, 2, 1);
+    }
+
+    @Test
+    void expiresEntriesAfterTheirTtl() throws InterruptedException {
+        PairCache cache = new PairCache(10, 200, TimeUnit.MILLISECONDS);
+        cache.get("pair", GENERATION);
+        cache.put("pair", new ConflictCheckResult(), GENERATION);
+        assertNotNull(cache.get("pair", GENERATION));
+
+        Thread.sleep(300);
+        assertNull(cache.get("pair", GENERATION));
+        assertStats(cache, 0, 1, 2, 1);
+    }
+
+    @Test
+    void clearsEntriesFromEarlierGenerations() {
+        PairCache cache = new PairCache(10, 1, TimeUnit.HOURS);
+        cache.get("pair", GENERATION);
+        cache.put("pair", new ConflictCheckResult(), GENERATION);
+
+        assertNull(cache.get("pair", GENERATION + 1));
+        // A result from the earlier generation is not cached any more.
+        cache.put("pair", new ConflictCheckResult(), GENERATION);
+        assertNull(cache.get("pair", GENERATION + 1));
+        assertStats(cache, 0, 0, 3, 0);
+    }
+
+    @Test
+    void keepsEntriesForLookupsFromEarlierGenerations() {
+        PairCache cache = new PairCache(10, 1, TimeUnit.HOURS);
+        ConflictCheckResult current = new ConflictCheckResult();
+        cache.get("pair", GENERATION + 1);
+        cache.put("pair", current, GENERATION + 1);
+
+        // A check that is still running against the earlier dataset misses, and its result
+        // is not cached, but the entries of the newer dataset stay.
+        assertNull(cache.get("pair", GENERATION));
+        cache.put("pair", new ConflictCheckResult(), GENERATION);
+        assertSame(current, cache.get("pair", GENERATION + 1));
+        assertStats(cache, 1, 1, 2, 0);
+    }
+
+    @Test
+    void cachesNothingWithoutRoom() {
+        PairCache cache = new PairCache(0, 1, TimeUnit.HOURS);
+        cache.get("pair", GENERATION);
+        cache.put("pair", new ConflictCheckResult(), GENERATION);
+        assertNull(cache.get("pair", GENERATION));
+        assertStats(cache, 0, 0, 2, 0);
+    }
+
+    private static void assertStats(PairCache cache, int size, long hits, long misses, long evictions) {
+        CacheStats stats = cache.getStats();
+        assertEquals(size, stats.getSize(), "size");
+        assertEquals(hits, stats.getHits(), "hits");
+        assertEquals(misses, stats.getMisses(), "misses");
+        assertEquals(evictions, stats.getEvictions(), "evictions");
+    }
+}
@@ -0,0 +1,120 @@
+package com.csci8380.project1;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.rdfhdt.hdt.exceptions.ParserException;
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.hdt.HDTManager;
+import org.rdfhdt.hdt.listener.ProgressListener;
+import org.rdfhdt.hdt.options.HDTSpecification;
+import org.rdfhdt.hdt.triples.TripleString;
+import org.rdfhdt.hdtjena.HDTGraph;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A small DBLP-shaped graph for tests, written to an HDT file so that it is loaded the same
+ * way as the real dataset. It has the cases that engines tend to disagree on: papers from
+ * the same year, a title with quotes, a name with accents, and two people who share a name.
+ */
+final class TestGraph {
+
+    static final String ALICE = "Alice Smith";
+    static final String BOB = "Bob Jones";
+    static final String CAROL = "Carol White";
+    static final String DAVE = "Dave Brown";
+    static final String ERIN = "Erin Green";
+    /// Two different people have this name.
+    static final String FRANK = "Frank Black";
+    static final String JOSE = "José Núñez";
+    /// Shares a prefix with {@link #ALICE}, but has fewer papers.
+    static final String ALAN = "Alan Turing";
+
+    private static final String BASE_URI = "http://test.dblp.org/";
+    private static final String YEAR_TYPE = "^^<http://www.w3.org/2001/XMLSchema#gYear>";
+    private static final ProgressListener QUIET = (level, message) -> {};
+
+    private TestGraph() {}
+
+    /**
+     * Writes the graph to an HDT file.
+     * @param directory The directory to write it to.
+     * @return The path to the file.
+     * @throws IOException If the file could not be written.
+     * @throws ParserException If the triples could not be encoded.
+     */
+    static Path write(Path directory) throws IOException, ParserException {
+        List<TripleString> triples = new ArrayList<>();
+        String[] people = {ALICE, BOB, CAROL, DAVE, ERIN, FRANK, FRANK, JOSE, ALAN};
+        for (int person = 0; person < people.length; ++person) {
+            triples.add(new TripleString(personUri(person), DblpVocabulary.FOAF_NAME,
+                    DblpVocabulary.literal(people[person])));
+        }
+
+        // Authors are given by their index in people, so 5 and 6 are the two Franks.
+        paper(triples, 0, "Graph Databases in Practice", 2001, 0, 1);
+        paper(triples, 1, "Scaling Triple Stores", 2010, 1, 0, 5);
+        paper(triples, 2, "Query Planning for RDF", 2010, 0, 2);
+        paper(triples, 3, "Compressed Indexes", 2015, 2, 4);
+        paper(triples, 4, "Working Alone", 2005, 3);
+        paper(triples, 5, "A \"Quoted\" Title", 2012, 1, 3);
+        paper(triples, 6, "Name Ambiguity", 2007, 6, 3);
+        paper(triples, 7, "Accented Names", 2019, 7, 4);
+        paper(triples, 8, "Computing Machinery", 1950, 8);
+
+        Path path = directory.resolve("test-graph.hdt");
+        try (HDT hdt = HDTManager.generateHDT(triples.iterator(), BASE_URI, new HDTSpecification(), QUIET)) {
+            hdt.saveToHDT(path.toString(), QUIET);
+        }
+        return path;
+    }
+
+    private static String personUri(int person) {
+        return BASE_URI + "persons/" + person;
+    }
+
+    private static void paper(List<TripleString> triples, int paper, String title, int year, int... authors) {
+        String subject = BASE_URI + "publications/" + paper;
+        triples.add(new TripleString(subject, DblpVocabulary.ELEMENTS_TITLE, DblpVocabulary.literal(title)));
+        triples.add(new TripleString(subject, DblpVocabulary.TERMS_ISSUED,
+                DblpVocabulary.literal(Integer.toString(year)) + YEAR_TYPE));
+        for (int author : authors) {
+            triples.add(new TripleString(subject, DblpVocabulary.FOAF_MAKER, personUri(author)));
+        }
+    }
+
+    /**
+     * Loads the graph as a dataset, as {@link KnowledgeGraph} would.
+     * @param path The path to the HDT file.
+     * @param engine The conflict engine to answer with: "sparql", "native" or "index".
+     * @return The dataset, which must be released once it is no longer used.
+     * @throws IOException If the file could not be read.
+     */
+    static Dataset open(Path path, String engine) throws IOException {
+        HDT hdt = HDTManager.loadIndexedHDT(path.toString(), QUIET);
+        Model model = ModelFactory.createModelForGraph(new HDTGraph(hdt, true));
+        HdtLookup lookup = new HdtLookup(hdt);
+        CoauthorshipIndex index = CoauthorshipIndex.build(lookup, QUIET);
+        index.setNames(AuthorNames.build(lookup, index));
+        ConflictEngine conflictEngine;
+        switch (engine) {
+            case "sparql":
+                conflictEngine = new SparqlConflictEngine(model);
+                break;
+            case "native":
+                conflictEngine = new HdtConflictEngine(hdt);
+                break;
+            case "index":
+                conflictEngine = new IndexConflictEngine(index, lookup);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown engine " + engine);
+        }
+        return new Dataset(path.toString(), Dataset.fingerprintOf(path.toString()), KnowledgeGraph.nextGeneration(), hdt, model, lookup, index,
+                FuzzyNameIndex.build(index.getNames(), QUIET), AuthorSuggester.build(index.getNames(), index),
+                conflictEngine);
+    }
+}